@@ -0,0 +1,63 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.dto.PropPickSuggestionDto;
+import com.nbastats.app.dto.PropProfileDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** All 12 stat keys with a line each: one-pass prop profile vs. one getSinglePropSuggestion call per key. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropProfileBenchmark {
+
+    private GameLogColumns season;
+    private PlayerService playerService;
+    private Map<String, Double> lines;
+
+    @Setup
+    public void setUp() {
+        season = SyntheticGameLogs.season(1, 42);
+        GameLogColumns fixed = season;
+        GameLogStore store = new GameLogStore(null, 300, 1) {
+            @Override
+            public GameLogColumns get(Long playerId, String s) {
+                return fixed;
+            }
+        };
+        playerService = new PlayerService(null, null, store, null, null);
+        lines = new HashMap<>();
+        for (String stat : PlayerService.getAllowedStats()) {
+            lines.put(stat, season.stat(stat)[0] + 0.5);
+        }
+    }
+
+    @Benchmark
+    public PropProfileDto profile() {
+        return playerService.getPropProfile(1L, "2024-25", lines);
+    }
+
+    @Benchmark
+    public void perKeySuggestions(Blackhole bh) {
+        for (Map.Entry<String, Double> e : lines.entrySet()) {
+            PropPickSuggestionDto dto = playerService.getSinglePropSuggestion(season, e.getKey(), e.getValue());
+            bh.consume(dto);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.dto.PropPickSuggestionDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prop-suggestion kernels over one synthetic 82-game season, per stat key.
+ * Report throughput; run with {@code -prof gc} (the default jmh.args) for allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropSuggestionBenchmark {
+
+    @Param({ "pts", "reb", "ast", "fg3m", "stl", "blk", "tov", "min_played", "pts_reb", "pts_ast", "reb_ast", "pts_reb_ast" })
+    public String statKey;
+
+    private GameLogColumns season;
+    private PlayerService playerService;
+    private double line;
+
+    @Setup
+    public void setUp() {
+        season = SyntheticGameLogs.season(1, 42);
+        // Only the column-based methods are exercised; they never touch the repositories.
+        playerService = new PlayerService(null, null, null, null, null);
+        int[] values = season.stat(statKey);
+        double sum = 0;
+        for (int i = 0; i < 10; i++) sum += values[i];
+        line = Math.floor(sum / 10) + 0.5;
+    }
+
+    /** Last-10 rules only (the getPropPickSuggestions path). */
+    @Benchmark
+    public PropPickSuggestionDto buildPropSuggestion() {
+        return PlayerService.buildPropSuggestion(season.stat(statKey), 10, statKey, statKey, line);
+    }
+
+    /** Full single-line path: season hit count, fg3m season anchor, then the last-10 rules. */
+    @Benchmark
+    public PropPickSuggestionDto singlePropSuggestion() {
+        return playerService.getSinglePropSuggestion(season, statKey, line);
+    }
+
+    /** Stat lookup over the whole season (replaces the per-entity getStatValue switch). */
+    @Benchmark
+    public long statValues() {
+        int[] values = season.stat(statKey);
+        long sum = 0;
+        for (int i = 0; i < season.size(); i++) sum += values[i];
+        return sum;
+    }
+
+    @Benchmark
+    public double stdDevLast10() {
+        return PlayerService.stdDev(season.stat(statKey), 10);
+    }
+
+    @Benchmark
+    public double stdDevSeason() {
+        return PlayerService.stdDev(season.stat(statKey), season.size());
+    }
+}
@@ -0,0 +1,68 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.dto.TodayPickDto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Seeded, realistic-looking inputs for the benchmarks: full 82-game seasons and 400-line slates. */
+final class SyntheticGameLogs {
+
+    static final int SEASON_GAMES = 82;
+    static final int SLATE_LINES = 400;
+
+    private static final String[] TEAMS = {
+        "ATL", "BOS", "BKN", "CHA", "CHI", "CLE", "DAL", "DEN", "DET", "GSW", "HOU", "IND", "LAC", "LAL", "MEM",
+        "MIA", "MIL", "MIN", "NOP", "NYK", "OKC", "ORL", "PHI", "PHX", "POR", "SAC", "SAS", "TOR", "UTA", "WAS"
+    };
+    private static final String[] CONFIDENCE = { "High", "Medium", "Hot take", "Low" };
+
+    private SyntheticGameLogs() {}
+
+    /** One player's season, newest game first, around a 24/7/5 stat line. */
+    static GameLogColumns season(long playerId, long seed) {
+        Random r = new Random(seed);
+        String team = TEAMS[r.nextInt(TEAMS.length)];
+        GameLogColumns.Builder b = new GameLogColumns.Builder(playerId, "2024-25", SEASON_GAMES);
+        LocalDate date = LocalDate.of(2025, 4, 13);
+        for (int i = 0; i < SEASON_GAMES; i++) {
+            String opp = TEAMS[r.nextInt(TEAMS.length)];
+            boolean home = r.nextBoolean();
+            int fg3a = clamp(gauss(r, 7, 2.5));
+            b.add(playerId * 1000 + i, "00224" + String.format("%05d", playerId * 100 + i), date,
+                team + (home ? " vs. " : " @ ") + opp, home ? "H" : "A", team, opp, r.nextBoolean() ? "W" : "L",
+                clamp(gauss(r, 34, 4)),
+                clamp(gauss(r, 24, 7)), clamp(gauss(r, 7, 3)), clamp(gauss(r, 5, 2.5)),
+                Math.min(fg3a, clamp(gauss(r, 2.6, 1.6))), fg3a,
+                clamp(gauss(r, 1.1, 1)), clamp(gauss(r, 0.6, 0.8)), clamp(gauss(r, 2.8, 1.5)));
+            date = date.minusDays(1 + r.nextInt(3));
+        }
+        return b.build();
+    }
+
+    /** A slate of picks with several lines per player, as getTodayPicks sees them before ranking. */
+    static List<TodayPickDto> slate(long seed) {
+        Random r = new Random(seed);
+        List<String> stats = PlayerService.getAllowedStats();
+        List<TodayPickDto> out = new ArrayList<>(SLATE_LINES);
+        for (int i = 0; i < SLATE_LINES; i++) {
+            long playerId = r.nextInt(SLATE_LINES / 4);
+            String stat = stats.get(r.nextInt(stats.size()));
+            boolean over = r.nextBoolean();
+            out.add(new TodayPickDto(i, "Player " + playerId, playerId, PlayerService.getStatLabel(stat), stat,
+                0.5 + r.nextInt(40), over ? "Over" : "Under", CONFIDENCE[r.nextInt(CONFIDENCE.length)], "",
+                TEAMS[r.nextInt(TEAMS.length)], r.nextInt(11) - (r.nextInt(20) == 0 ? 11 : 0), r.nextInt(6)));
+        }
+        return out;
+    }
+
+    private static double gauss(Random r, double mean, double sd) {
+        return mean + r.nextGaussian() * sd;
+    }
+
+    private static int clamp(double v) {
+        return (int) Math.max(0, Math.round(v));
+    }
+}
@@ -0,0 +1,46 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.dto.TodayPickDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** The comparator chain and one-per-player dedupe from getTodayPicks, on a 400-line slate. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodayPicksRankingBenchmark {
+
+    private List<TodayPickDto> slate;
+
+    @Setup
+    public void setUp() {
+        slate = SyntheticGameLogs.slate(7);
+    }
+
+    @Benchmark
+    public List<TodayPickDto> sortOnly() {
+        List<TodayPickDto> copy = new ArrayList<>(slate);
+        copy.sort(DailyPropLineService.PICK_ORDER);
+        return copy;
+    }
+
+    @Benchmark
+    public List<TodayPickDto> rankOnePerPlayer() {
+        return DailyPropLineService.rankOnePerPlayer(new ArrayList<>(slate));
+    }
+}
@@ -0,0 +1,40 @@
+package com.nbastats.app.config;
+
+import com.nbastats.app.repository.DbBulkhead;
+import com.nbastats.app.service.GameLogStore;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics on top of what Actuator binds by itself (http.server.requests, spring.data.repository.invocations,
+ * hikaricp.*, hibernate.*). Enables {@code @Timed} on JDBC repositories and compute stages, and exposes cache and
+ * bulkhead gauges.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder nbastatsGauges(GameLogStore gameLogStore, DbBulkhead dbBulkhead) {
+        return registry -> {
+            Gauge.builder("nbastats.gamelog.store.entries", gameLogStore, GameLogStore::size)
+                .description("Player-seasons cached in the game-log store")
+                .register(registry);
+            Gauge.builder("nbastats.gamelog.store.size", gameLogStore, GameLogStore::estimatedBytes)
+                .description("Estimated heap held by the game-log store")
+                .baseUnit("bytes")
+                .register(registry);
+            Gauge.builder("nbastats.db.bulkhead.available", dbBulkhead, DbBulkhead::availablePermits)
+                .description("Free DB bulkhead permits (only enforced when the bulkhead is enabled)")
+                .register(registry);
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package com.nbastats.app.dto;
+
+/** Graded lines and hits for one group (a confidence tier, stat key or direction). */
+public record BacktestBucketDto(
+    String key,
+    int graded,
+    int hits,
+    double hitRate
+) {}
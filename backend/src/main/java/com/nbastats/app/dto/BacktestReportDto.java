@@ -0,0 +1,21 @@
+package com.nbastats.app.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Stored daily suggestions graded against the player's actual game. Lines without a game within the grace window,
+ * or where the player logged no minutes, are counted as ungraded and left out of every hit rate.
+ */
+public record BacktestReportDto(
+    LocalDate from,
+    LocalDate to,
+    int lines,
+    int graded,
+    int ungraded,
+    int hits,
+    double hitRate,
+    List<BacktestBucketDto> byConfidence,
+    List<BacktestBucketDto> byStat,
+    List<BacktestBucketDto> byDirection
+) {}
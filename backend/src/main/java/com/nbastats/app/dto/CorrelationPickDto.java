@@ -0,0 +1,13 @@
+package com.nbastats.app.dto;
+
+/** One pick of a slate correlation matrix and its own hit rate over the lookback (games played only). */
+public record CorrelationPickDto(
+    long lineId,
+    long playerId,
+    String playerName,
+    String statKey,
+    double line,
+    String suggestion,
+    int games,
+    Double hitRate   // null when the player has no games in the lookback
+) {}
@@ -0,0 +1,16 @@
+package com.nbastats.app.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Game log in columnar layout: one array per requested field (keyed as in {@link GameLogDto}), all {@code count}
+ * long and newest first, so each key is sent once instead of once per game.
+ */
+public record GameLogColumnarDto(
+    Long playerId,
+    String season,
+    int count,
+    List<String> fields,
+    Map<String, Object> columns
+) {}
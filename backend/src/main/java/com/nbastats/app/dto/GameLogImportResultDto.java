@@ -0,0 +1,16 @@
+package com.nbastats.app.dto;
+
+/**
+ * Outcome of one bulk game-log import. {@code rowsSkipped} = rows missing a player id, game id or parseable date;
+ * {@code unknownPlayer} = games whose player is not in the players table and had no name to create one from.
+ */
+public record GameLogImportResultDto(
+    int rowsRead,
+    int rowsSkipped,
+    int playersCreated,
+    int inserted,
+    int updated,
+    int unchanged,
+    int unknownPlayer,
+    long elapsedMs
+) {}
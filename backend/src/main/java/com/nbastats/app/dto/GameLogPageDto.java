@@ -0,0 +1,13 @@
+package com.nbastats.app.dto;
+
+import java.util.List;
+
+/**
+ * One page of a player's game log, newest first. {@code nextCursor} is an opaque token for the following page;
+ * null when this is the last one.
+ */
+public record GameLogPageDto(
+    Long playerId,
+    List<GameLogDto> games,
+    String nextCursor
+) {}
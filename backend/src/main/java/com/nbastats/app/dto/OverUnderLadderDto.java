@@ -0,0 +1,16 @@
+package com.nbastats.app.dto;
+
+import java.util.List;
+
+/**
+ * Over/under hit rates at every half-point line from just below the lowest to just above the highest observed value.
+ * Stats are whole numbers, so any threshold t answers like the rung at {@code ceil(t) - 0.5}.
+ */
+public record OverUnderLadderDto(
+    String stat,
+    int totalGames,
+    Integer lastN,
+    Integer minValue,   // null when there are no games
+    Integer maxValue,
+    List<OverUnderRungDto> rungs
+) {}
@@ -0,0 +1,10 @@
+package com.nbastats.app.dto;
+
+/** One line of an over/under ladder; over = at or above the line. */
+public record OverUnderRungDto(
+    double line,
+    int gamesOver,
+    int gamesUnder,
+    double probabilityOver,
+    double probabilityUnder
+) {}
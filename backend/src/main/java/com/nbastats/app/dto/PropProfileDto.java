@@ -0,0 +1,11 @@
+package com.nbastats.app.dto;
+
+import java.util.List;
+
+/** Prop profile for every allowed stat key of a player-season (ordered like the allowed stats list). */
+public record PropProfileDto(
+    Long playerId,
+    String season,
+    int gamesPlayed,
+    List<StatProfileDto> stats
+) {}
@@ -1,5 +1,7 @@
 package com.nbastats.app.dto;
 
+import com.nbastats.app.entity.PlayerSeasonStats;
+
 public record SeasonStatsDto(
     String season,
     int gamesPlayed,
@@ -9,4 +11,22 @@ public record SeasonStatsDto(
     double stlAvg,
     double blkAvg,
     double tovAvg
-) {}
+) {
+    /** Averages from the running sums (unrounded, same as averaging the game log). */
+    public static SeasonStatsDto from(PlayerSeasonStats s) {
+        int n = s.getGamesPlayed();
+        if (n <= 0) {
+            return new SeasonStatsDto(s.getSeason(), 0, 0, 0, 0, 0, 0, 0);
+        }
+        return new SeasonStatsDto(
+            s.getSeason(),
+            n,
+            s.getPtsSum() / (double) n,
+            s.getRebSum() / (double) n,
+            s.getAstSum() / (double) n,
+            s.getStlSum() / (double) n,
+            s.getBlkSum() / (double) n,
+            s.getTovSum() / (double) n
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package com.nbastats.app.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Pairwise co-hit statistics for a slate's picks over games played in [from, to]. Matrices are indexed like
+ * {@code picks} and symmetric. For each pair: the number of dates both players played, the share of those dates
+ * on which both picks hit, and the phi coefficient of the two hit indicators. A cell is null when the pair shares
+ * fewer than {@code minSharedGames} games or one pick always (or never) hit on them.
+ */
+public record SlateCorrelationDto(
+    LocalDate date,
+    LocalDate from,
+    LocalDate to,
+    int minSharedGames,
+    List<CorrelationPickDto> picks,
+    int[][] sharedGames,
+    Double[][] jointHitRate,
+    Double[][] phi
+) {}
@@ -0,0 +1,10 @@
+package com.nbastats.app.dto;
+
+import java.util.List;
+
+/** One slice of a player's games (e.g. "BOS", "away", "b2b") with averages for every allowed stat key. */
+public record SplitRowDto(
+    String key,
+    int games,
+    List<SplitStatDto> stats
+) {}
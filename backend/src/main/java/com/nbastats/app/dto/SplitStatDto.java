@@ -0,0 +1,10 @@
+package com.nbastats.app.dto;
+
+/** Average of one stat over a slice and, when a line was given, how many of the slice's games hit it. */
+public record SplitStatDto(
+    String statKey,
+    String label,
+    double avg,
+    Double line,   // null when no line was requested for this stat
+    Integer hits   // games in the slice at or above the line
+) {}
@@ -0,0 +1,19 @@
+package com.nbastats.app.dto;
+
+import java.util.List;
+
+/**
+ * Player-season splits. Filters that were not given are null. Without {@code by} there is one row ("all") for the
+ * filtered games; with it, one row per non-empty bucket of that dimension within the filters.
+ */
+public record SplitsDto(
+    Long playerId,
+    String season,
+    int gamesPlayed,
+    String opponent,
+    String venue,
+    String rest,
+    String result,
+    String by,
+    List<SplitRowDto> rows
+) {}
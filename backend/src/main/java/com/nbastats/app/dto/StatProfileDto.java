@@ -0,0 +1,22 @@
+package com.nbastats.app.dto;
+
+/**
+ * One stat key in a prop profile: recent and season averages, last-10 variance, and, when a line was given,
+ * hit counts against it plus the suggestion the prop-pick rules produce.
+ */
+public record StatProfileDto(
+    String statKey,
+    String label,
+    double seasonAvg,
+    double last10Avg,
+    double last5Avg,
+    double last10StdDev,
+    boolean highVariance,
+    boolean oneBigGame,
+    String varianceNote,
+    Double line,                       // null when no line was requested for this stat
+    Integer seasonHits,                // games at or above the line, whole season
+    Integer hitRateLast10,
+    Integer overLast5,
+    PropPickSuggestionDto suggestion   // null without a line or with fewer than 10 games
+) {}
@@ -0,0 +1,11 @@
+package com.nbastats.app.dto;
+
+import java.util.List;
+
+/** Per-game values of one stat key and its rolling series, one per requested window size. */
+public record TrendStatDto(
+    String statKey,
+    String label,
+    int[] values,
+    List<TrendWindowDto> windows
+) {}
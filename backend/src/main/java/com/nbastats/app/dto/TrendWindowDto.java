@@ -0,0 +1,11 @@
+package com.nbastats.app.dto;
+
+/**
+ * Rolling mean and population standard deviation over the last {@code window} games ending at each game.
+ * Entries are null until the window has filled.
+ */
+public record TrendWindowDto(
+    int window,
+    Double[] mean,
+    Double[] stdDev
+) {}
@@ -0,0 +1,17 @@
+package com.nbastats.app.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Rolling trends of a player over one or more seasons, oldest game first so arrays plot left to right.
+ * Every array in {@code stats} is index-aligned with {@code dates}.
+ */
+public record TrendsDto(
+    Long playerId,
+    List<String> seasons,
+    int gamesPlayed,
+    List<LocalDate> dates,
+    List<String> opponents,
+    List<TrendStatDto> stats
+) {}
@@ -6,7 +6,9 @@ import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "daily_prop_lines")
+@Table(name = "daily_prop_lines", uniqueConstraints = {
+    @UniqueConstraint(columnNames = { "player_id", "stat_key", "line_date" })
+})
 public class DailyPropLine {
 
     @Id
@@ -0,0 +1,140 @@
+package com.nbastats.app.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Season aggregates per player. Maintained by the player_game_logs_season_stats trigger (see database/schema.sql);
+ * the backend only reads it.
+ */
+@Entity
+@Table(name = "player_season_stats", uniqueConstraints = {
+    @UniqueConstraint(columnNames = { "player_id", "season" })
+})
+public class PlayerSeasonStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "player_id", nullable = false)
+    private Player player;
+
+    @Column(name = "season", nullable = false, length = 9)
+    private String season;
+
+    @Column(name = "games_played", nullable = false)
+    private Integer gamesPlayed = 0;
+
+    @Column(name = "pts_sum", nullable = false)
+    private Integer ptsSum = 0;
+
+    @Column(name = "reb_sum", nullable = false)
+    private Integer rebSum = 0;
+
+    @Column(name = "ast_sum", nullable = false)
+    private Integer astSum = 0;
+
+    @Column(name = "stl_sum", nullable = false)
+    private Integer stlSum = 0;
+
+    @Column(name = "blk_sum", nullable = false)
+    private Integer blkSum = 0;
+
+    @Column(name = "tov_sum", nullable = false)
+    private Integer tovSum = 0;
+
+    @Column(name = "pts_avg", nullable = false)
+    private BigDecimal ptsAvg;
+
+    @Column(name = "reb_avg", nullable = false)
+    private BigDecimal rebAvg;
+
+    @Column(name = "ast_avg", nullable = false)
+    private BigDecimal astAvg;
+
+    @Column(name = "stl_avg", nullable = false)
+    private BigDecimal stlAvg;
+
+    @Column(name = "blk_avg", nullable = false)
+    private BigDecimal blkAvg;
+
+    @Column(name = "tov_avg", nullable = false)
+    private BigDecimal tovAvg;
+
+    @Column(name = "fg_pct")
+    private BigDecimal fgPct;
+
+    @Column(name = "fg3_pct")
+    private BigDecimal fg3Pct;
+
+    @Column(name = "ft_pct")
+    private BigDecimal ftPct;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    // --- getters/setters ---
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Player getPlayer() { return player; }
+    public void setPlayer(Player player) { this.player = player; }
+
+    public String getSeason() { return season; }
+    public void setSeason(String season) { this.season = season; }
+
+    public Integer getGamesPlayed() { return gamesPlayed; }
+    public void setGamesPlayed(Integer gamesPlayed) { this.gamesPlayed = gamesPlayed; }
+
+    public Integer getPtsSum() { return ptsSum; }
+    public void setPtsSum(Integer ptsSum) { this.ptsSum = ptsSum; }
+
+    public Integer getRebSum() { return rebSum; }
+    public void setRebSum(Integer rebSum) { this.rebSum = rebSum; }
+
+    public Integer getAstSum() { return astSum; }
+    public void setAstSum(Integer astSum) { this.astSum = astSum; }
+
+    public Integer getStlSum() { return stlSum; }
+    public void setStlSum(Integer stlSum) { this.stlSum = stlSum; }
+
+    public Integer getBlkSum() { return blkSum; }
+    public void setBlkSum(Integer blkSum) { this.blkSum = blkSum; }
+
+    public Integer getTovSum() { return tovSum; }
+    public void setTovSum(Integer tovSum) { this.tovSum = tovSum; }
+
+    public BigDecimal getPtsAvg() { return ptsAvg; }
+    public void setPtsAvg(BigDecimal ptsAvg) { this.ptsAvg = ptsAvg; }
+
+    public BigDecimal getRebAvg() { return rebAvg; }
+    public void setRebAvg(BigDecimal rebAvg) { this.rebAvg = rebAvg; }
+
+    public BigDecimal getAstAvg() { return astAvg; }
+    public void setAstAvg(BigDecimal astAvg) { this.astAvg = astAvg; }
+
+    public BigDecimal getStlAvg() { return stlAvg; }
+    public void setStlAvg(BigDecimal stlAvg) { this.stlAvg = stlAvg; }
+
+    public BigDecimal getBlkAvg() { return blkAvg; }
+    public void setBlkAvg(BigDecimal blkAvg) { this.blkAvg = blkAvg; }
+
+    public BigDecimal getTovAvg() { return tovAvg; }
+    public void setTovAvg(BigDecimal tovAvg) { this.tovAvg = tovAvg; }
+
+    public BigDecimal getFgPct() { return fgPct; }
+    public void setFgPct(BigDecimal fgPct) { this.fgPct = fgPct; }
+
+    public BigDecimal getFg3Pct() { return fg3Pct; }
+    public void setFg3Pct(BigDecimal fg3Pct) { this.fg3Pct = fg3Pct; }
+
+    public BigDecimal getFtPct() { return ftPct; }
+    public void setFtPct(BigDecimal ftPct) { this.ftPct = ftPct; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
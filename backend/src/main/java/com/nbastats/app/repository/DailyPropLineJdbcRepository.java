@@ -0,0 +1,236 @@
+package com.nbastats.app.repository;
+
+import com.nbastats.app.dto.TodayPickDto;
+import com.nbastats.app.service.PlayerService;
+import io.micrometer.core.annotation.Timed;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk writes for daily_prop_lines. A slate is streamed into a temp staging table with COPY and merged on the
+ * (player_id, stat_key, line_date) natural key, so large slates load in one pass and re-posting a slate is harmless.
+ * The entity uses IDENTITY ids, which stops Hibernate from batching, so nothing here goes through it.
+ * Today-pick reads map rows straight to DTOs.
+ */
+@Repository
+public class DailyPropLineJdbcRepository {
+
+    private static final String STAGE_DDL = "CREATE TEMP TABLE IF NOT EXISTS daily_prop_lines_stage ("
+        + "seq INTEGER NOT NULL, player_id BIGINT NOT NULL, stat_key VARCHAR(32) NOT NULL, line_value NUMERIC(6,2) NOT NULL, "
+        + "suggestion VARCHAR(8) NOT NULL, confidence VARCHAR(16) NOT NULL, reason VARCHAR(512), "
+        + "hit_rate_last_10 INTEGER, over_last_5 INTEGER) ON COMMIT DELETE ROWS";
+
+    private static final String STAGE_COPY = "COPY daily_prop_lines_stage (seq, player_id, stat_key, line_value, "
+        + "suggestion, confidence, reason, hit_rate_last_10, over_last_5) FROM STDIN (FORMAT csv)";
+
+    // DISTINCT ON: a slate listing the same player and stat twice keeps its last row (ON CONFLICT may touch a row once).
+    // The WHERE skips rows that already hold the same values, so an identical re-post writes nothing.
+    // xmax = 0 only on a freshly inserted tuple, which splits the RETURNING rows into inserted and updated.
+    private static final String MERGE = "WITH merged AS ("
+        + "INSERT INTO daily_prop_lines (player_id, stat_key, line_value, line_date, suggestion, confidence, reason, "
+        + "  hit_rate_last_10, over_last_5) "
+        + "SELECT DISTINCT ON (player_id, stat_key) player_id, stat_key, line_value, ?, suggestion, confidence, reason, "
+        + "  hit_rate_last_10, over_last_5 FROM daily_prop_lines_stage ORDER BY player_id, stat_key, seq DESC "
+        + "ON CONFLICT (player_id, stat_key, line_date) DO UPDATE SET line_value = EXCLUDED.line_value, "
+        + "  suggestion = EXCLUDED.suggestion, confidence = EXCLUDED.confidence, reason = EXCLUDED.reason, "
+        + "  hit_rate_last_10 = EXCLUDED.hit_rate_last_10, over_last_5 = EXCLUDED.over_last_5 "
+        + "WHERE (daily_prop_lines.line_value, daily_prop_lines.suggestion, daily_prop_lines.confidence, "
+        + "  daily_prop_lines.reason, daily_prop_lines.hit_rate_last_10, daily_prop_lines.over_last_5) "
+        + "  IS DISTINCT FROM (EXCLUDED.line_value, EXCLUDED.suggestion, EXCLUDED.confidence, EXCLUDED.reason, "
+        + "  EXCLUDED.hit_rate_last_10, EXCLUDED.over_last_5) "
+        + "RETURNING (xmax = 0) AS inserted) "
+        + "SELECT COUNT(*) FILTER (WHERE inserted) AS inserted, COUNT(*) FILTER (WHERE NOT inserted) AS updated, "
+        + "  (SELECT COUNT(DISTINCT (player_id, stat_key)) FROM daily_prop_lines_stage) AS distinct_rows "
+        + "FROM merged";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailyPropLineJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert or update all rows for a date: COPY into the session's staging table, then one INSERT ... ON CONFLICT
+     * DO UPDATE. Must run inside a transaction, since the staging rows are cleared on commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "upsertAll"}, histogram = true)
+    public UpsertResult upsertAll(LocalDate lineDate, List<NewLine> rows) {
+        if (rows.isEmpty()) return new UpsertResult(0, 0, 0);
+        jdbcTemplate.execute(STAGE_DDL);
+        jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try {
+                return new CopyManager(con.unwrap(BaseConnection.class)).copyIn(STAGE_COPY, new StringReader(toCsv(rows)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return jdbcTemplate.queryForObject(MERGE, (rs, i) -> {
+            int inserted = rs.getInt("inserted");
+            int updated = rs.getInt("updated");
+            return new UpsertResult(inserted, updated, rs.getInt("distinct_rows") - inserted - updated);
+        }, Date.valueOf(lineDate));
+    }
+
+    /** COPY csv text: text fields always quoted (embedded quotes doubled), nulls as unquoted empty fields. */
+    private static String toCsv(List<NewLine> rows) {
+        StringBuilder sb = new StringBuilder(rows.size() * 96);
+        for (int i = 0; i < rows.size(); i++) {
+            NewLine r = rows.get(i);
+            sb.append(i).append(',')
+                .append(r.playerId()).append(',');
+            quote(sb, r.statKey()).append(',')
+                .append(r.lineValue()).append(',');
+            quote(sb, r.suggestion()).append(',');
+            quote(sb, r.confidence()).append(',');
+            quote(sb, r.reason()).append(',')
+                .append(r.hitRateLast10()).append(',')
+                .append(r.overLast5()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static StringBuilder quote(StringBuilder sb, String v) {
+        if (v == null) return sb;
+        return sb.append('"').append(v.replace("\"", "\"\"")).append('"');
+    }
+
+    /** Overwrite the evaluated fields of existing rows by id in a single batch; returns the number written. */
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "updateEvaluations"}, histogram = true)
+    public int updateEvaluations(Map<Long, NewLine> rowsById) {
+        if (rowsById.isEmpty()) return 0;
+        String sql = "UPDATE daily_prop_lines SET suggestion = ?, confidence = ?, reason = ?, hit_rate_last_10 = ?, "
+            + "over_last_5 = ? WHERE id = ?";
+        jdbcTemplate.batchUpdate(sql, List.copyOf(rowsById.entrySet()), rowsById.size(), (ps, e) -> {
+            NewLine r = e.getValue();
+            ps.setString(1, r.suggestion());
+            ps.setString(2, r.confidence());
+            ps.setString(3, r.reason());
+            ps.setInt(4, r.hitRateLast10());
+            ps.setInt(5, r.overLast5());
+            ps.setLong(6, e.getKey());
+        });
+        return rowsById.size();
+    }
+
+    /**
+     * Lines for a date as today-pick rows in one round trip: player name joined in, players with fewer than 10 games
+     * in the season on or before the date dropped, team = team_abbr of the player's latest game that season.
+     * Also returns every player on the slate (eligible or not) and the read's snapshot xmin, so callers can tell
+     * which later writes the result already reflects. Unranked; rows map straight to DTOs, no entities.
+     */
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "findPicksByLineDate"}, histogram = true)
+    public SlatePicks findPicksByLineDate(LocalDate lineDate, String season) {
+        String sql = "WITH slate AS (SELECT DISTINCT player_id FROM daily_prop_lines WHERE line_date = ?), "
+            + "eligible AS (SELECT g.player_id FROM player_game_logs g JOIN slate s ON s.player_id = g.player_id "
+            + "  WHERE g.season = ? AND g.game_date <= ? GROUP BY g.player_id HAVING COUNT(*) >= 10), "
+            + "team AS (SELECT DISTINCT ON (g.player_id) g.player_id, g.team_abbr FROM player_game_logs g "
+            + "  JOIN eligible e ON e.player_id = g.player_id WHERE g.season = ? ORDER BY g.player_id, g.game_date DESC) "
+            + "SELECT d.id, d.player_id, p.full_name, d.stat_key, d.line_value, d.suggestion, d.confidence, d.reason, "
+            + "  d.hit_rate_last_10, d.over_last_5, t.team_abbr, e.player_id IS NOT NULL AS eligible, "
+            + "  txid_snapshot_xmin(txid_current_snapshot()) AS snapshot_xmin "
+            + "FROM daily_prop_lines d "
+            + "LEFT JOIN eligible e ON e.player_id = d.player_id "
+            + "JOIN players p ON p.id = d.player_id "
+            + "LEFT JOIN team t ON t.player_id = d.player_id "
+            + "WHERE d.line_date = ?";
+        Date date = Date.valueOf(lineDate);
+        List<TodayPickDto> picks = new ArrayList<>();
+        Set<Long> playerIds = new HashSet<>();
+        long[] xmin = {0};
+        jdbcTemplate.query(sql, rs -> {
+            long playerId = rs.getLong("player_id");
+            playerIds.add(playerId);
+            xmin[0] = rs.getLong("snapshot_xmin");
+            if (!rs.getBoolean("eligible")) return;
+            Integer hit10 = rs.getObject("hit_rate_last_10", Integer.class);
+            Integer over5 = rs.getObject("over_last_5", Integer.class);
+            String statKey = rs.getString("stat_key");
+            picks.add(new TodayPickDto(
+                rs.getLong("id"),
+                rs.getString("full_name"),
+                playerId,
+                PlayerService.getStatLabel(statKey),
+                statKey,
+                rs.getDouble("line_value"),
+                rs.getString("suggestion"),
+                rs.getString("confidence"),
+                rs.getString("reason"),
+                rs.getString("team_abbr"),
+                hit10 != null ? hit10 : -1,
+                over5 != null ? over5 : -1
+            ));
+        }, date, season, date, season, date);
+        return new SlatePicks(picks, playerIds, xmin[0]);
+    }
+
+    /** Every stored line with line_date in [from, to], for grading against what happened. */
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "findLinesBetween"}, histogram = true)
+    public List<StoredLine> findLinesBetween(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+            "SELECT id, player_id, stat_key, line_value, line_date, suggestion, confidence FROM daily_prop_lines "
+                + "WHERE line_date BETWEEN ? AND ?",
+            (rs, i) -> new StoredLine(
+                rs.getLong("id"),
+                rs.getLong("player_id"),
+                rs.getString("stat_key"),
+                rs.getDouble("line_value"),
+                rs.getDate("line_date").toLocalDate(),
+                rs.getString("suggestion"),
+                rs.getString("confidence")
+            ),
+            Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /** One evaluated line ready to store. */
+    public record NewLine(
+        long playerId,
+        String statKey,
+        double lineValue,
+        String suggestion,
+        String confidence,
+        String reason,
+        int hitRateLast10,
+        int overLast5
+    ) {}
+
+    /** A line as stored, with the suggestion made at the time. */
+    public record StoredLine(
+        long id,
+        long playerId,
+        String statKey,
+        double lineValue,
+        LocalDate lineDate,
+        String suggestion,
+        String confidence
+    ) {}
+
+    /**
+     * Result of {@link #findPicksByLineDate}: eligible pick rows, every player on the slate, and the xmin of the
+     * snapshot they were read in (every transaction below it is visible; 0 for an empty slate).
+     */
+    public record SlatePicks(List<TodayPickDto> picks, Set<Long> playerIds, long snapshotXmin) {}
+
+    /** Outcome of {@link #upsertAll}: new rows, rows whose evaluation changed, and rows already stored as-is. */
+    public record UpsertResult(int inserted, int updated, int unchanged) {
+        public int saved() {
+            return inserted + updated + unchanged;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.nbastats.app.repository;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Semaphore bulkhead in front of database access. With virtual threads, thousands of requests can be in flight at
+ * once; without this they would all queue inside Hikari for the few pooled connections (up to its 30 s timeout).
+ * Here at most {@code permits} callers touch the DB at a time, the rest wait up to {@code max-wait-ms} and then fail
+ * fast with {@link DbBusyException} (503).
+ *
+ * <p>Guards repository calls and {@code @Transactional} methods. Ordered ahead of the transaction interceptor so the
+ * permit is held before a connection is taken. Re-entrant per thread: nested calls inside a guarded call do not
+ * take another permit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DbBulkhead {
+
+    private final boolean enabled;
+    private final long maxWaitMillis;
+    private final Semaphore permits;
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    public DbBulkhead(@Value("${nbastats.db-bulkhead.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled,
+                      @Value("${nbastats.db-bulkhead.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                      @Value("${nbastats.db-bulkhead.max-wait-ms:250}") long maxWaitMillis) {
+        this.enabled = enabled;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(Math.max(permits, 1), true);
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)"
+        + " || @within(org.springframework.stereotype.Repository)"
+        + " || @annotation(org.springframework.transaction.annotation.Transactional)"
+        + " || @within(org.springframework.transaction.annotation.Transactional)")
+    public Object guard(ProceedingJoinPoint pjp) throws Throwable {
+        if (!enabled) return pjp.proceed();
+        int[] d = depth.get();
+        if (d[0] > 0) {
+            d[0]++;
+            try {
+                return pjp.proceed();
+            } finally {
+                d[0]--;
+            }
+        }
+        if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+            throw new DbBusyException("Database busy, retry shortly");
+        }
+        d[0] = 1;
+        try {
+            return pjp.proceed();
+        } finally {
+            d[0] = 0;
+            permits.release();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Permits currently free (for metrics / diagnostics). */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,11 @@
+package com.nbastats.app.repository;
+
+/** Thrown when a caller could not get a database permit from {@link DbBulkhead} within the configured wait. */
+public class DbBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DbBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,143 @@
+package com.nbastats.app.repository;
+
+import io.micrometer.core.annotation.Timed;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.postgresql.core.BaseConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bulk game-log import: rows are streamed into a session temp table with COPY as they are parsed, then merged into
+ * player_game_logs on (player_id, nba_game_id) in one statement. Players are matched by nba_player_id.
+ * Both steps must run in the same transaction, since the staging rows are cleared on commit.
+ */
+@Repository
+public class GameLogImportJdbcRepository {
+
+    /** Staging columns in COPY order; {@link StageSink} callers write csv fields in this order. */
+    public static final String STAGE_COLUMNS = "seq, nba_player_id, player_name, nba_game_id, game_date, season, "
+        + "matchup, wl, min_played, pts, reb, ast, stl, blk, tov, fgm, fga, fg3m, fg3a, ftm, fta, oreb, dreb, pf, plus_minus";
+
+    private static final String STAGE_DDL = "CREATE TEMP TABLE IF NOT EXISTS player_game_logs_stage ("
+        + "seq BIGINT NOT NULL, nba_player_id BIGINT NOT NULL, player_name VARCHAR(255), nba_game_id VARCHAR(32) NOT NULL, "
+        + "game_date DATE NOT NULL, season VARCHAR(9) NOT NULL, matchup VARCHAR(32), wl VARCHAR(8), min_played INTEGER, "
+        + "pts INTEGER, reb INTEGER, ast INTEGER, stl INTEGER, blk INTEGER, tov INTEGER, fgm INTEGER, fga INTEGER, "
+        + "fg3m INTEGER, fg3a INTEGER, ftm INTEGER, fta INTEGER, oreb INTEGER, dreb INTEGER, pf INTEGER, plus_minus INTEGER"
+        + ") ON COMMIT DELETE ROWS";
+
+    // Same naming and first/last split as ensure_player in ingest.py; existing players are left as they are.
+    private static final String INSERT_PLAYERS = "INSERT INTO players (nba_player_id, full_name, first_name, last_name) "
+        + "SELECT DISTINCT ON (nba_player_id) nba_player_id, player_name, split_part(player_name, ' ', 1), "
+        + "  COALESCE(NULLIF(substring(player_name FROM position(' ' IN player_name) + 1), player_name), '') "
+        + "FROM player_game_logs_stage WHERE player_name IS NOT NULL AND player_name <> '' "
+        + "ORDER BY nba_player_id, seq DESC "
+        + "ON CONFLICT (nba_player_id) DO NOTHING";
+
+    private static final String GAME_COLUMNS = "game_date, season, matchup, home_away, team_abbr, opponent_abbr, wl, "
+        + "min_played, pts, reb, ast, stl, blk, tov, fgm, fga, fg3m, fg3a, ftm, fta, oreb, dreb, pf, plus_minus";
+
+    // DISTINCT ON: the last row wins when a file repeats a game (ON CONFLICT may touch a row once).
+    // team/opponent/home_away are derived from MATCHUP like parse_matchup in ingest.py.
+    // The WHERE skips games already stored with the same values, so re-importing a file writes nothing and
+    // leaves updated_at (and so ETags) alone. xmax = 0 marks freshly inserted rows.
+    private static final String MERGE = "WITH src AS ("
+        + "  SELECT DISTINCT ON (s.nba_player_id, s.nba_game_id) p.id AS player_id, s.*, "
+        + "    regexp_split_to_array(btrim(COALESCE(s.matchup, '')), '\\s+') AS parts "
+        + "  FROM player_game_logs_stage s JOIN players p ON p.nba_player_id = s.nba_player_id "
+        + "  ORDER BY s.nba_player_id, s.nba_game_id, s.seq DESC"
+        + "), merged AS ("
+        + "  INSERT INTO player_game_logs (player_id, nba_game_id, " + GAME_COLUMNS + ") "
+        + "  SELECT player_id, nba_game_id, game_date, season, COALESCE(matchup, ''), "
+        + "    CASE WHEN cardinality(parts) >= 3 THEN CASE WHEN matchup LIKE '%vs.%' THEN 'H' ELSE 'A' END END, "
+        + "    CASE WHEN cardinality(parts) >= 3 THEN parts[1] END, "
+        + "    CASE WHEN cardinality(parts) >= 3 THEN parts[cardinality(parts)] END, "
+        + "    left(COALESCE(wl, ''), 1), min_played, "
+        + "    COALESCE(pts, 0), COALESCE(reb, 0), COALESCE(ast, 0), COALESCE(stl, 0), COALESCE(blk, 0), COALESCE(tov, 0), "
+        + "    COALESCE(fgm, 0), COALESCE(fga, 0), COALESCE(fg3m, 0), COALESCE(fg3a, 0), COALESCE(ftm, 0), COALESCE(fta, 0), "
+        + "    COALESCE(oreb, 0), COALESCE(dreb, 0), COALESCE(pf, 0), plus_minus "
+        + "  FROM src "
+        + "  ON CONFLICT (player_id, nba_game_id) DO UPDATE SET (" + GAME_COLUMNS + ", updated_at) = ("
+        + excluded(GAME_COLUMNS) + ", NOW()) "
+        + "  WHERE (" + qualified("player_game_logs", GAME_COLUMNS) + ") IS DISTINCT FROM (" + excluded(GAME_COLUMNS) + ") "
+        + "  RETURNING (xmax = 0) AS inserted"
+        + ") "
+        + "SELECT COUNT(*) FILTER (WHERE inserted) AS inserted, COUNT(*) FILTER (WHERE NOT inserted) AS updated, "
+        + "  (SELECT COUNT(*) FROM src) AS matched, "
+        + "  (SELECT COUNT(*) FROM (SELECT DISTINCT nba_player_id, nba_game_id FROM player_game_logs_stage) d) AS distinct_rows "
+        + "FROM merged";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GameLogImportJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Open a COPY into the staging table and hand the caller a writer for csv rows ({@link #STAGE_COLUMNS} order,
+     * empty unquoted field = NULL). Rows go to the server as the writer's buffer fills, so nothing is held in memory.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "stageGameLogs"}, histogram = true)
+    public void stage(StageSink sink) {
+        jdbcTemplate.execute(STAGE_DDL);
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            String copy = "COPY player_game_logs_stage (" + STAGE_COLUMNS + ") FROM STDIN (FORMAT csv)";
+            try (Writer w = new BufferedWriter(new OutputStreamWriter(
+                    new PGCopyOutputStream(con.unwrap(BaseConnection.class), copy, 64 * 1024), StandardCharsets.UTF_8))) {
+                sink.write(w);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+
+    /** Create players seen for the first time, then upsert staged rows into player_game_logs. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "mergeGameLogs"}, histogram = true)
+    public MergeResult mergeStaged() {
+        int playersCreated = jdbcTemplate.update(INSERT_PLAYERS);
+        return jdbcTemplate.queryForObject(MERGE, (rs, i) -> {
+            int inserted = rs.getInt("inserted");
+            int updated = rs.getInt("updated");
+            int matched = rs.getInt("matched");
+            return new MergeResult(playersCreated, inserted, updated, matched - inserted - updated,
+                rs.getInt("distinct_rows") - matched);
+        });
+    }
+
+    private static String excluded(String columns) {
+        return qualified("EXCLUDED", columns);
+    }
+
+    private static String qualified(String table, String columns) {
+        StringBuilder sb = new StringBuilder();
+        for (String c : columns.split(", ")) {
+            if (!sb.isEmpty()) sb.append(", ");
+            sb.append(table).append('.').append(c);
+        }
+        return sb.toString();
+    }
+
+    /** Writes csv rows into an open COPY. */
+    @FunctionalInterface
+    public interface StageSink {
+        void write(Writer copyIn) throws IOException;
+    }
+
+    /**
+     * Outcome of {@link #mergeStaged()}: players created, games inserted, games updated, games already stored as-is,
+     * and games skipped because their nba_player_id is unknown and the file carried no player name.
+     */
+    public record MergeResult(int playersCreated, int inserted, int updated, int unchanged, int unknownPlayer) {}
+}
@@ -0,0 +1,314 @@
+package com.nbastats.app.repository;
+
+import com.nbastats.app.dto.GameLogDto;
+import com.nbastats.app.dto.SeasonStatsDto;
+import com.nbastats.app.service.GameLogCursor;
+import com.nbastats.app.service.GameLogColumns;
+import com.nbastats.app.service.GameLogExportFilter;
+import com.nbastats.app.service.GameLogField;
+import com.nbastats.app.service.GameLogVersion;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain-JDBC reads of player_game_logs straight into {@link GameLogColumns}, for bulk paths where hydrating
+ * {@code PlayerGameLog} entities would fill the persistence context.
+ */
+@Repository
+public class GameLogJdbcRepository {
+
+    private static final String COLUMNS = "player_id, id, nba_game_id, game_date, matchup, home_away, team_abbr, opponent_abbr, wl, "
+        + "min_played, pts, reb, ast, fg3m, fg3a, stl, blk, tov, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GameLogJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** One player-season's logs, newest first, read straight into columns (no entities, no persistence context). */
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "findColumns"}, histogram = true)
+    public GameLogColumns findColumns(Long playerId, String season) {
+        GameLogColumns.Builder b = new GameLogColumns.Builder(playerId, season, 82);
+        jdbcTemplate.query(
+            "SELECT " + COLUMNS + " FROM player_game_logs WHERE player_id = ? AND season = ? ORDER BY game_date DESC",
+            rs -> {
+                addRow(b, rs);
+            },
+            playerId, season);
+        return b.build();
+    }
+
+    /**
+     * One player's logs across several seasons in a single query, newest game first (the columns' {@code season()}
+     * is null). Uses idx_pgl_player_season like the single-season read.
+     */
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "findColumnsBySeasons"}, histogram = true)
+    public GameLogColumns findColumnsBySeasons(Long playerId, Collection<String> seasons) {
+        GameLogColumns.Builder b = new GameLogColumns.Builder(playerId, null, 82 * Math.max(seasons.size(), 1));
+        String sql = "SELECT " + COLUMNS + " FROM player_game_logs WHERE player_id = ? AND season = ANY(?) "
+            + "ORDER BY game_date DESC";
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql);
+            ps.setLong(1, playerId);
+            ps.setArray(2, con.createArrayOf("varchar", seasons.toArray()));
+            return ps;
+        }, (RowCallbackHandler) rs -> addRow(b, rs));
+        return b.build();
+    }
+
+    /** One query for all players' season logs (player_id, game_date DESC); players with no games are absent. */
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "findColumnsByPlayerIds"}, histogram = true)
+    public Map<Long, GameLogColumns> findColumnsByPlayerIds(Collection<Long> playerIds, String season) {
+        if (playerIds.isEmpty()) return new HashMap<>();
+        String sql = "SELECT " + COLUMNS + " FROM player_game_logs WHERE season = ? AND player_id = ANY(?) "
+            + "ORDER BY player_id, game_date DESC";
+        return jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql);
+            Array ids = con.createArrayOf("bigint", playerIds.toArray());
+            ps.setString(1, season);
+            ps.setArray(2, ids);
+            return ps;
+        }, groupedByPlayer(season));
+    }
+
+    /**
+     * Date-range timelines for many players in one query, newest game first, possibly spanning seasons
+     * (the columns' {@code season()} is null). Players with no games in the range are absent.
+     */
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "findColumnsByPlayerIdsBetween"}, histogram = true)
+    public Map<Long, GameLogColumns> findColumnsByPlayerIdsBetween(Collection<Long> playerIds, LocalDate from, LocalDate to) {
+        if (playerIds.isEmpty()) return new HashMap<>();
+        String sql = "SELECT " + COLUMNS + " FROM player_game_logs WHERE player_id = ANY(?) AND game_date BETWEEN ? AND ? "
+            + "ORDER BY player_id, game_date DESC";
+        return jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("bigint", playerIds.toArray()));
+            ps.setDate(2, Date.valueOf(from));
+            ps.setDate(3, Date.valueOf(to));
+            return ps;
+        }, groupedByPlayer(null));
+    }
+
+    /**
+     * Season averages for many players in one grouped aggregate (idx_pgl_player_season). Null stats count as 0,
+     * like {@link GameLogColumns}. Players with no games in the season are absent.
+     */
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "findSeasonStatsByPlayerIds"}, histogram = true)
+    public Map<Long, SeasonStatsDto> findSeasonStatsByPlayerIds(Collection<Long> playerIds, String season) {
+        Map<Long, SeasonStatsDto> out = new HashMap<>();
+        if (playerIds.isEmpty()) return out;
+        String sql = "SELECT player_id, COUNT(*) AS games, "
+            + "AVG(COALESCE(pts, 0)) AS pts, AVG(COALESCE(reb, 0)) AS reb, AVG(COALESCE(ast, 0)) AS ast, "
+            + "AVG(COALESCE(stl, 0)) AS stl, AVG(COALESCE(blk, 0)) AS blk, AVG(COALESCE(tov, 0)) AS tov "
+            + "FROM player_game_logs WHERE player_id = ANY(?) AND season = ? GROUP BY player_id";
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("bigint", playerIds.toArray()));
+            ps.setString(2, season);
+            return ps;
+        }, rs -> {
+            out.put(rs.getLong("player_id"), new SeasonStatsDto(
+                season,
+                rs.getInt("games"),
+                rs.getDouble("pts"),
+                rs.getDouble("reb"),
+                rs.getDouble("ast"),
+                rs.getDouble("stl"),
+                rs.getDouble("blk"),
+                rs.getDouble("tov")
+            ));
+        });
+        return out;
+    }
+
+    /**
+     * Stream every row matching the filter (player_id, game_date DESC) to {@code handler} through a server-side cursor:
+     * pgjdbc fetches {@code fetchSize} rows at a time as long as the call runs inside a transaction (autocommit off).
+     * Nothing is collected, so memory stays flat regardless of how many rows match. Only {@code fields} are selected.
+     */
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "streamForExport"}, histogram = true)
+    public void streamForExport(GameLogExportFilter filter, List<GameLogField> fields, int fetchSize,
+                                RowCallbackHandler handler) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(fields.get(i).column());
+        }
+        sql.append(" FROM player_game_logs WHERE TRUE");
+        List<Object> args = new ArrayList<>();
+        if (!filter.playerIds().isEmpty()) {
+            sql.append(" AND player_id = ANY(?)");
+            args.add(new SqlArray("bigint", filter.playerIds().toArray()));
+        }
+        if (!filter.seasons().isEmpty()) {
+            sql.append(" AND season = ANY(?)");
+            args.add(new SqlArray("varchar", filter.seasons().toArray()));
+        }
+        if (filter.from() != null) {
+            sql.append(" AND game_date >= ?");
+            args.add(Date.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND game_date <= ?");
+            args.add(Date.valueOf(filter.to()));
+        }
+        sql.append(" ORDER BY player_id, game_date DESC");
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                if (args.get(i) instanceof SqlArray a) {
+                    ps.setArray(i + 1, con.createArrayOf(a.type(), a.values()));
+                } else {
+                    ps.setObject(i + 1, args.get(i));
+                }
+            }
+            return ps;
+        }, handler);
+    }
+
+    /**
+     * Up to {@code limit} games of a player strictly after {@code after} in (game_date DESC, id DESC) order, optionally
+     * limited to some seasons. The row-value comparison keeps the scan on idx_pgl_player_date_id from the cursor
+     * onwards, so deep pages cost the same as the first (no OFFSET).
+     */
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "findPage"}, histogram = true)
+    public List<GameLogDto> findPage(Long playerId, Collection<String> seasons, GameLogCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS)
+            .append(", season FROM player_game_logs WHERE player_id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(playerId);
+        if (!seasons.isEmpty()) {
+            sql.append(" AND season = ANY(?)");
+            args.add(new SqlArray("varchar", seasons.toArray()));
+        }
+        if (after != null) {
+            sql.append(" AND (game_date, id) < (?, ?)");
+            args.add(Date.valueOf(after.gameDate()));
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY game_date DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString());
+            for (int i = 0; i < args.size(); i++) {
+                if (args.get(i) instanceof SqlArray a) {
+                    ps.setArray(i + 1, con.createArrayOf(a.type(), a.values()));
+                } else {
+                    ps.setObject(i + 1, args.get(i));
+                }
+            }
+            return ps;
+        }, (rs, i) -> new GameLogDto(
+            rs.getLong("id"),
+            rs.getString("nba_game_id"),
+            rs.getDate("game_date").toLocalDate(),
+            rs.getString("season"),
+            rs.getString("matchup"),
+            rs.getString("home_away"),
+            rs.getString("team_abbr"),
+            rs.getString("opponent_abbr"),
+            rs.getString("wl"),
+            rs.getObject("min_played", Integer.class),
+            rs.getInt("pts"),
+            rs.getInt("reb"),
+            rs.getInt("ast"),
+            rs.getInt("stl"),
+            rs.getInt("blk"),
+            rs.getInt("tov"),
+            rs.getInt("fg3m")
+        ));
+    }
+
+    /** Row count and max(updated_at) for a player-season; one index-backed aggregate, no rows loaded. */
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "findVersion"}, histogram = true)
+    public GameLogVersion findVersion(Long playerId, String season) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*), MAX(updated_at) FROM player_game_logs WHERE player_id = ? AND season = ?",
+            (rs, i) -> {
+                Timestamp max = rs.getTimestamp(2);
+                return new GameLogVersion(rs.getLong(1), max != null ? max.toInstant() : null);
+            },
+            playerId, season);
+    }
+
+    /** {@link #findVersion(Long, String)} over several seasons at once. */
+    @Timed(value = "nbastats.jdbc.query", extraTags = {"query", "findVersionBySeasons"}, histogram = true)
+    public GameLogVersion findVersion(Long playerId, Collection<String> seasons) {
+        return jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(
+                "SELECT COUNT(*), MAX(updated_at) FROM player_game_logs WHERE player_id = ? AND season = ANY(?)");
+            ps.setLong(1, playerId);
+            ps.setArray(2, con.createArrayOf("varchar", seasons.toArray()));
+            return ps;
+        }, rs -> {
+            rs.next();
+            Timestamp max = rs.getTimestamp(2);
+            return new GameLogVersion(rs.getLong(1), max != null ? max.toInstant() : null);
+        });
+    }
+
+    /** Rows ordered by player_id first: one builder per run of the same player. */
+    private static ResultSetExtractor<Map<Long, GameLogColumns>> groupedByPlayer(String season) {
+        return rs -> {
+            Map<Long, GameLogColumns> out = new HashMap<>();
+            GameLogColumns.Builder current = null;
+            long currentPlayer = 0;
+            while (rs.next()) {
+                long playerId = rs.getLong("player_id");
+                if (current == null || playerId != currentPlayer) {
+                    if (current != null) out.put(currentPlayer, current.build());
+                    current = new GameLogColumns.Builder(playerId, season, 82);
+                    currentPlayer = playerId;
+                }
+                addRow(current, rs);
+            }
+            if (current != null) out.put(currentPlayer, current.build());
+            return out;
+        };
+    }
+
+    static void addRow(GameLogColumns.Builder b, ResultSet rs) throws SQLException {
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        b.noteUpdatedAt(updatedAt != null ? updatedAt.toInstant() : null);
+        b.add(
+            rs.getLong("id"),
+            rs.getString("nba_game_id"),
+            rs.getDate("game_date").toLocalDate(),
+            rs.getString("matchup"),
+            rs.getString("home_away"),
+            rs.getString("team_abbr"),
+            rs.getString("opponent_abbr"),
+            rs.getString("wl"),
+            rs.getObject("min_played", Integer.class),
+            rs.getInt("pts"),
+            rs.getInt("reb"),
+            rs.getInt("ast"),
+            rs.getInt("fg3m"),
+            rs.getInt("fg3a"),
+            rs.getInt("stl"),
+            rs.getInt("blk"),
+            rs.getInt("tov")
+        );
+    }
+
+    /** Array parameter, bound once the connection is available. */
+    private record SqlArray(String type, Object[] values) {}
+}
@@ -3,12 +3,12 @@ package com.nbastats.app.repository;
 import com.nbastats.app.entity.Player;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface PlayerRepository extends JpaRepository<Player, Long> {
 
-    @Query("SELECT p FROM Player p WHERE LOWER(p.fullName) LIKE LOWER(CONCAT('%', :q, '%')) ORDER BY p.fullName")
-    List<Player> searchByName(@Param("q") String query);
+    /** Row count and latest updated_at, used to tell whether the in-memory search index is stale. */
+    @Query("SELECT COUNT(p), MAX(p.updatedAt) FROM Player p")
+    List<Object[]> findCountAndMaxUpdatedAt();
 }
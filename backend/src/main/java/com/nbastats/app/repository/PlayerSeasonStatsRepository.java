@@ -0,0 +1,12 @@
+package com.nbastats.app.repository;
+
+import com.nbastats.app.entity.PlayerSeasonStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface PlayerSeasonStatsRepository extends JpaRepository<PlayerSeasonStats, Long> {
+
+    /** Single-row lookup on the (player_id, season) unique key. */
+    Optional<PlayerSeasonStats> findByPlayer_IdAndSeason(Long playerId, String season);
+}
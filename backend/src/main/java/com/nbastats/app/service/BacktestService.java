@@ -0,0 +1,144 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.dto.BacktestBucketDto;
+import com.nbastats.app.dto.BacktestReportDto;
+import com.nbastats.app.repository.DailyPropLineJdbcRepository;
+import com.nbastats.app.repository.DailyPropLineJdbcRepository.StoredLine;
+import com.nbastats.app.repository.GameLogJdbcRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Grades stored daily prop suggestions against actual results. Two queries load all lines in the range and every
+ * involved player's games as one timeline each; players are then graded independently on the fork/join pool
+ * (parallel stream) and the per-player tallies merged.
+ */
+@Service
+public class BacktestService {
+
+    private static final List<String> CONFIDENCE_ORDER = List.of("High", "Medium", "Hot take", "Low");
+    private static final List<String> DIRECTIONS = List.of("Over", "Under");
+
+    private final DailyPropLineJdbcRepository dailyPropLineJdbcRepository;
+    private final GameLogJdbcRepository gameLogJdbcRepository;
+
+    public BacktestService(DailyPropLineJdbcRepository dailyPropLineJdbcRepository,
+                           GameLogJdbcRepository gameLogJdbcRepository) {
+        this.dailyPropLineJdbcRepository = dailyPropLineJdbcRepository;
+        this.gameLogJdbcRepository = gameLogJdbcRepository;
+    }
+
+    /**
+     * Grade every line with line_date in [from, to] against the player's first game on or after line_date, at most
+     * {@code graceDays} later. Over hits when the stat is at or above the line, Under when below (same rule as
+     * over/under everywhere else).
+     */
+    @Timed(value = "nbastats.compute", extraTags = {"stage", "backtest"}, histogram = true)
+    public BacktestReportDto backtest(LocalDate from, LocalDate to, int graceDays) {
+        List<StoredLine> lines = dailyPropLineJdbcRepository.findLinesBetween(from, to);
+        Map<Long, List<StoredLine>> byPlayer = lines.stream().collect(Collectors.groupingBy(StoredLine::playerId));
+        Map<Long, GameLogColumns> timelines =
+            gameLogJdbcRepository.findColumnsByPlayerIdsBetween(byPlayer.keySet(), from, to.plusDays(graceDays));
+
+        Tally total = byPlayer.entrySet().parallelStream()
+            .map(e -> grade(e.getValue(), timelines.get(e.getKey()), graceDays))
+            .reduce(Tally::merge)
+            .orElseGet(Tally::new);
+
+        return new BacktestReportDto(from, to, lines.size(), total.graded, total.ungraded, total.hits,
+            rate(total.hits, total.graded),
+            buckets(total.byConfidence, CONFIDENCE_ORDER),
+            buckets(total.byStat, PlayerService.getAllowedStats()),
+            buckets(total.byDirection, DIRECTIONS));
+    }
+
+    /** One player's lines against their timeline (newest game first). */
+    static Tally grade(List<StoredLine> lines, GameLogColumns timeline, int graceDays) {
+        Tally t = new Tally();
+        for (StoredLine line : lines) {
+            boolean over = "Over".equals(line.suggestion());
+            if (timeline == null || (!over && !"Under".equals(line.suggestion()))
+                    || !PlayerService.getAllowedStats().contains(line.statKey())) {
+                t.ungraded++;
+                continue;
+            }
+            int onOrAfter = timeline.gamesOnOrAfter(line.lineDate());
+            int game = onOrAfter - 1; // oldest game on or after the line date
+            if (game < 0
+                    || timeline.gameDates()[game] - line.lineDate().toEpochDay() > graceDays
+                    || timeline.minPlayedRaw()[game] <= 0) { // no game in the window, or DNP (props are void)
+                t.ungraded++;
+                continue;
+            }
+            int actual = timeline.stat(line.statKey())[game];
+            boolean hit = over ? actual >= line.lineValue() : actual < line.lineValue();
+            t.add(line, hit);
+        }
+        return t;
+    }
+
+    private static List<BacktestBucketDto> buckets(Map<String, int[]> counts, List<String> order) {
+        List<BacktestBucketDto> out = new ArrayList<>();
+        Map<String, int[]> rest = new LinkedHashMap<>(counts);
+        for (String key : order) {
+            int[] c = rest.remove(key);
+            if (c != null) out.add(new BacktestBucketDto(key, c[0], c[1], rate(c[1], c[0])));
+        }
+        rest.forEach((key, c) -> out.add(new BacktestBucketDto(key, c[0], c[1], rate(c[1], c[0]))));
+        return out;
+    }
+
+    private static double rate(int hits, int graded) {
+        return graded > 0 ? (double) hits / graded : 0.0;
+    }
+
+    /** Per-group [graded, hits] counters; each task fills its own and tallies are merged pairwise. */
+    static final class Tally {
+        int graded;
+        int ungraded;
+        int hits;
+        final Map<String, int[]> byConfidence = new HashMap<>();
+        final Map<String, int[]> byStat = new HashMap<>();
+        final Map<String, int[]> byDirection = new HashMap<>();
+
+        void add(StoredLine line, boolean hit) {
+            graded++;
+            if (hit) hits++;
+            count(byConfidence, line.confidence() != null ? line.confidence() : "Unknown", hit);
+            count(byStat, line.statKey(), hit);
+            count(byDirection, line.suggestion(), hit);
+        }
+
+        Tally merge(Tally other) {
+            graded += other.graded;
+            ungraded += other.ungraded;
+            hits += other.hits;
+            mergeInto(byConfidence, other.byConfidence);
+            mergeInto(byStat, other.byStat);
+            mergeInto(byDirection, other.byDirection);
+            return this;
+        }
+
+        private static void count(Map<String, int[]> m, String key, boolean hit) {
+            int[] c = m.computeIfAbsent(key, k -> new int[2]);
+            c[0]++;
+            if (hit) c[1]++;
+        }
+
+        private static void mergeInto(Map<String, int[]> into, Map<String, int[]> from) {
+            from.forEach((k, c) -> {
+                int[] d = into.computeIfAbsent(k, x -> new int[2]);
+                d[0] += c[0];
+                d[1] += c[1];
+            });
+        }
+    }
+}
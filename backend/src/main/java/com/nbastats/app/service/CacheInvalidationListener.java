@@ -0,0 +1,194 @@
+package com.nbastats.app.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Keeps in-process caches coherent with the database across instances. Triggers in schema.sql NOTIFY
+ * {@code nbastats_invalidate} on every write to player_game_logs, players and daily_prop_lines; this listens on its
+ * own connection (outside the small Hikari pool) and drops only the affected entries: the player-season in the
+ * game-log store, picks snapshots whose slate lists the player, the picks snapshot for the line date (unless it was
+ * read after the writing transaction), or the search index when players changed.
+ * Events arriving together are applied as one batch. After a reconnect everything is dropped, since events sent
+ * while disconnected are lost.
+ */
+@Component
+@ConditionalOnProperty(name = "nbastats.cache-invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationListener implements SmartLifecycle {
+
+    static final String CHANNEL = "nbastats_invalidate";
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+    private static final int POLL_MILLIS = 5000;
+    /** Idle time after which the connection is probed with a query, so a silently dropped link is noticed. */
+    private static final long HEARTBEAT_MILLIS = 30_000;
+    /** Read timeout for the probe (and every other read): a dead link fails here instead of blocking forever. */
+    private static final int SOCKET_TIMEOUT_SECONDS = 30;
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+
+    private final DataSourceProperties dataSource;
+    private final GameLogStore gameLogStore;
+    private final PlayerSearchIndex playerSearchIndex;
+    private final DailyPropLineService dailyPropLineService;
+    private final long initialBackoffMillis;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public CacheInvalidationListener(DataSourceProperties dataSource, GameLogStore gameLogStore,
+                                     PlayerSearchIndex playerSearchIndex, DailyPropLineService dailyPropLineService,
+                                     @Value("${nbastats.cache-invalidation.reconnect-ms:5000}") long initialBackoffMillis) {
+        this.dataSource = dataSource;
+        this.gameLogStore = gameLogStore;
+        this.playerSearchIndex = playerSearchIndex;
+        this.dailyPropLineService = dailyPropLineService;
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "pg-listen-" + CHANNEL);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) thread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long backoff = initialBackoffMillis;
+        boolean reconnect = false;
+        while (running) {
+            try (Connection con = DriverManager.getConnection(dataSource.determineUrl(), connectionProperties())) {
+                try (Statement st = con.createStatement()) {
+                    st.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for cache invalidations on {}", CHANNEL);
+                if (reconnect) invalidateAll();
+                backoff = initialBackoffMillis;
+                PGConnection pg = con.unwrap(PGConnection.class);
+                long lastHeard = System.currentTimeMillis();
+                while (running) {
+                    PGNotification[] batch = pg.getNotifications(POLL_MILLIS);
+                    long now = System.currentTimeMillis();
+                    if (batch == null || batch.length == 0) {
+                        // A half-open connection (NAT/LB idle drop, failover) never errors on an empty poll.
+                        // A round trip does: it times out or fails, and we fall through to the reconnect path.
+                        if (now - lastHeard >= HEARTBEAT_MILLIS) {
+                            try (Statement st = con.createStatement()) {
+                                st.execute("SELECT 1");
+                            }
+                            lastHeard = now;
+                        }
+                        continue;
+                    }
+                    lastHeard = now;
+                    try {
+                        apply(batch);
+                    } catch (RuntimeException e) {
+                        log.warn("Applying cache invalidations failed: {}", e.getMessage());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) return;
+                log.warn("Cache invalidation listener disconnected ({}); retrying in {} ms", e.getMessage(), backoff);
+                reconnect = true;
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Credentials plus TCP keepalive and a socket read timeout: the listener connection sits idle for long
+     * stretches, which is exactly when middleboxes drop it without telling either side.
+     */
+    private Properties connectionProperties() {
+        Properties props = new Properties();
+        String user = dataSource.determineUsername();
+        String password = dataSource.determinePassword();
+        if (user != null) props.setProperty("user", user);
+        if (password != null) props.setProperty("password", password);
+        props.setProperty("tcpKeepAlive", "true");
+        props.setProperty("socketTimeout", String.valueOf(SOCKET_TIMEOUT_SECONDS));
+        return props;
+    }
+
+    /** One batch of events: each distinct key is handled once. */
+    void apply(PGNotification[] batch) {
+        Set<String> gameLogs = new HashSet<>();
+        Map<LocalDate, Long> lineDates = new HashMap<>();
+        boolean players = false;
+        for (PGNotification n : batch) {
+            String payload = n.getParameter();
+            if (payload.startsWith("game_log:")) {
+                gameLogs.add(payload.substring("game_log:".length()));
+            } else if (payload.startsWith("daily_lines:")) {
+                // daily_lines:<date>:<xid>; payloads from an older schema carry no xid and always evict
+                String rest = payload.substring("daily_lines:".length());
+                int colon = rest.indexOf(':');
+                try {
+                    LocalDate date = LocalDate.parse(colon >= 0 ? rest.substring(0, colon) : rest);
+                    long xid = colon >= 0 ? Long.parseLong(rest.substring(colon + 1)) : Long.MAX_VALUE;
+                    lineDates.merge(date, xid, Math::max);
+                } catch (DateTimeParseException | NumberFormatException e) {
+                    log.debug("Ignoring malformed invalidation {}", payload);
+                }
+            } else if (payload.startsWith("player:")) {
+                players = true;
+            }
+        }
+        Set<Long> gameLogPlayers = new HashSet<>();
+        for (String key : gameLogs) {
+            int colon = key.indexOf(':');
+            try {
+                long playerId = Long.parseLong(key.substring(0, colon));
+                gameLogStore.invalidate(playerId, key.substring(colon + 1));
+                gameLogPlayers.add(playerId);
+            } catch (RuntimeException e) {
+                log.debug("Ignoring malformed invalidation game_log:{}", key);
+            }
+        }
+        if (!gameLogPlayers.isEmpty()) dailyPropLineService.evictTodayPicksForPlayers(gameLogPlayers);
+        lineDates.forEach(dailyPropLineService::evictTodayPicks);
+        if (players) playerSearchIndex.refreshIfChanged();
+    }
+
+    private void invalidateAll() {
+        gameLogStore.invalidateAll();
+        dailyPropLineService.evictAllTodayPicks();
+        playerSearchIndex.refreshIfChanged();
+    }
+}
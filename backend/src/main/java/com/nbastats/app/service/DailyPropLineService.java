@@ -2,21 +2,29 @@ package com.nbastats.app.service;
 
 import com.nbastats.app.dto.PropPickSuggestionDto;
 import com.nbastats.app.dto.TodayPickDto;
-import com.nbastats.app.entity.DailyPropLine;
 import com.nbastats.app.entity.Player;
+import com.nbastats.app.repository.DailyPropLineJdbcRepository;
 import com.nbastats.app.repository.DailyPropLineRepository;
-import com.nbastats.app.repository.PlayerGameLogRepository;
-import com.nbastats.app.repository.PlayerRepository;
+import com.nbastats.app.repository.GameLogJdbcRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -24,52 +32,186 @@ import java.util.stream.Collectors;
 @Service
 public class DailyPropLineService {
 
-    private final PlayerRepository playerRepository;
     private final DailyPropLineRepository dailyPropLineRepository;
-    private final PlayerGameLogRepository playerGameLogRepository;
+    private final DailyPropLineJdbcRepository dailyPropLineJdbcRepository;
+    private final GameLogJdbcRepository gameLogJdbcRepository;
+    private final PlayerSearchIndex playerSearchIndex;
+    private final GameLogStore gameLogStore;
     private final PlayerService playerService;
+    private final long picksTtlMillis;
 
-    public DailyPropLineService(PlayerRepository playerRepository,
-                                DailyPropLineRepository dailyPropLineRepository,
-                                PlayerGameLogRepository playerGameLogRepository,
-                                PlayerService playerService) {
-        this.playerRepository = playerRepository;
+    /** Immutable ranked pick list per line date, most recently used dates kept. */
+    private final Map<LocalDate, PicksSnapshot> picksSnapshots = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, PicksSnapshot> eldest) {
+                return size() > MAX_SNAPSHOT_DATES;
+            }
+        });
+
+    /**
+     * Bumped (under the {@code picksSnapshots} lock) by every eviction. A build that raced evictions is checked
+     * against {@link #recentEvictions} and dropped only if one of them covers its date or slate.
+     */
+    private long picksGeneration;
+
+    /** The last {@link #MAX_RECENT_EVICTIONS} evictions, oldest first; guarded by the {@code picksSnapshots} lock. */
+    private final ArrayDeque<PicksEviction> recentEvictions = new ArrayDeque<>();
+
+    /** null = not loaded yet. */
+    private volatile Optional<LocalDate> latestLineDate;
+
+    public DailyPropLineService(DailyPropLineRepository dailyPropLineRepository,
+                                DailyPropLineJdbcRepository dailyPropLineJdbcRepository,
+                                GameLogJdbcRepository gameLogJdbcRepository,
+                                PlayerSearchIndex playerSearchIndex,
+                                GameLogStore gameLogStore,
+                                PlayerService playerService,
+                                @Value("${nbastats.today-picks.ttl-seconds:600}") long picksTtlSeconds) {
         this.dailyPropLineRepository = dailyPropLineRepository;
-        this.playerGameLogRepository = playerGameLogRepository;
+        this.dailyPropLineJdbcRepository = dailyPropLineJdbcRepository;
+        this.gameLogJdbcRepository = gameLogJdbcRepository;
+        this.playerSearchIndex = playerSearchIndex;
+        this.gameLogStore = gameLogStore;
         this.playerService = playerService;
+        this.picksTtlMillis = picksTtlSeconds * 1000;
+    }
+
+    /**
+     * Add lines for a date. Each line: player name (matched to our DB), stat key, line value. We compute suggestion and store.
+     * Set-based: names resolved against the in-memory player index, all needed game logs loaded in one query,
+     * suggestions computed in parallel, rows merged in one COPY + upsert. Re-posting a slate updates lines in place.
+     */
+    @Transactional
+    @Timed(value = "nbastats.compute", extraTags = {"stage", "addDailyLines"}, histogram = true)
+    public DailyPropLineJdbcRepository.UpsertResult addDailyLines(LocalDate date, String season, List<LineInput> lines) {
+        List<LineInput> valid = lines.stream()
+            .filter(l -> l.getPlayer() != null && l.getStat() != null && l.getLine() != null)
+            .toList();
+        if (valid.isEmpty()) return new DailyPropLineJdbcRepository.UpsertResult(0, 0, 0);
+
+        Set<String> names = valid.stream().map(l -> l.getPlayer().trim()).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, Long> playerIdByName = new HashMap<>();
+        for (String name : names) {
+            Player match = playerSearchIndex.bestMatch(name);
+            if (match != null) playerIdByName.put(name, match.getId());
+        }
+        long storeGeneration = gameLogStore.generation();
+        Map<Long, GameLogColumns> logsByPlayer = gameLogJdbcRepository.findColumnsByPlayerIds(new HashSet<>(playerIdByName.values()), season);
+        gameLogStore.putAll(logsByPlayer.values(), storeGeneration);
+
+        List<DailyPropLineJdbcRepository.NewLine> rows = valid.parallelStream()
+            .map(input -> evaluate(input, playerIdByName, logsByPlayer, season, date))
+            .filter(Objects::nonNull)
+            .toList();
+        DailyPropLineJdbcRepository.UpsertResult result = dailyPropLineJdbcRepository.upsertAll(date, rows);
+        if (result.inserted() + result.updated() > 0) {
+            // Swap in a fresh picks snapshot for this date once the rows are visible to other transactions.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshTodayPicks(date);
+                }
+            });
+        }
+        return result;
     }
 
-    /** Add lines for a date. Each line: player name (matched to our DB), stat key, line value. We compute suggestion and store. */
+    /**
+     * Recompute every stored suggestion for a past (or current) slate as of its line date, so games played on or
+     * after that date never leak in. One query loads the season timelines of every player on the slate; each line is
+     * then a binary search plus a 10-game window, and changed rows are rewritten in one batch. Lines whose player had
+     * fewer than 10 games before the date are left as stored.
+     */
     @Transactional
-    public int addDailyLines(LocalDate date, String season, List<LineInput> lines) {
-        int saved = 0;
-        for (LineInput input : lines) {
-            if (input.getPlayer() == null || input.getStat() == null || input.getLine() == null) continue;
-            List<Player> matches = playerRepository.searchByName(input.getPlayer().trim());
-            if (matches.isEmpty()) continue;
-            Player player = matches.get(0);
-            String statKey = playerService.getAllowedStats().contains(input.getStat().trim().toLowerCase())
-                ? input.getStat().trim().toLowerCase() : "pts";
-            double lineVal = input.getLine().doubleValue();
-            PropPickSuggestionDto dto = playerService.getSinglePropSuggestion(player.getId(), season, statKey, lineVal);
-            if (dto == null) continue;
-            DailyPropLine entity = new DailyPropLine();
-            entity.setPlayer(player);
-            entity.setStatKey(statKey);
-            entity.setLineValue(lineVal);
-            entity.setLineDate(date);
-            entity.setSuggestion(dto.suggestion());
-            entity.setConfidence(dto.confidence());
-            entity.setReason(String.format("%d/5 last 5, %d/10 last 10. %s", dto.overLast5(), dto.hitRateLast10(), dto.varianceNote()));
-            entity.setHitRateLast10(dto.hitRateLast10());
-            entity.setOverLast5(dto.overLast5());
-            dailyPropLineRepository.save(entity);
-            saved++;
+    @Timed(value = "nbastats.compute", extraTags = {"stage", "recomputeSlate"}, histogram = true)
+    public RecomputeResult recomputeSlate(LocalDate date) {
+        List<DailyPropLineJdbcRepository.StoredLine> stored = dailyPropLineJdbcRepository.findLinesBetween(date, date);
+        if (stored.isEmpty()) return new RecomputeResult(date, 0, 0, 0);
+
+        String season = seasonForDate(date);
+        Set<Long> playerIds = stored.stream().map(DailyPropLineJdbcRepository.StoredLine::playerId).collect(Collectors.toSet());
+        Map<Long, GameLogColumns> logsByPlayer = gameLogJdbcRepository.findColumnsByPlayerIds(playerIds, season);
+
+        List<Map.Entry<DailyPropLineJdbcRepository.StoredLine, DailyPropLineJdbcRepository.NewLine>> evaluated = stored.parallelStream()
+            .map(line -> {
+                GameLogColumns cols = logsByPlayer.getOrDefault(line.playerId(), GameLogColumns.empty(line.playerId(), season));
+                PropPickSuggestionDto dto = playerService.getSinglePropSuggestion(cols, line.statKey(), line.lineValue(), date);
+                return dto != null ? Map.entry(line, toRow(line.playerId(), line.statKey(), line.lineValue(), dto)) : null;
+            })
+            .filter(Objects::nonNull)
+            .toList();
+
+        Map<Long, DailyPropLineJdbcRepository.NewLine> recomputed = new HashMap<>();
+        int changed = 0;
+        for (var e : evaluated) {
+            DailyPropLineJdbcRepository.StoredLine before = e.getKey();
+            DailyPropLineJdbcRepository.NewLine after = e.getValue();
+            if (!Objects.equals(before.suggestion(), after.suggestion())
+                    || !Objects.equals(before.confidence(), after.confidence())) {
+                changed++;
+            }
+            recomputed.put(before.id(), after);
         }
-        return saved;
+        dailyPropLineJdbcRepository.updateEvaluations(recomputed);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refreshTodayPicks(date);
+            }
+        });
+        return new RecomputeResult(date, stored.size(), recomputed.size(), changed);
+    }
+
+    private DailyPropLineJdbcRepository.NewLine evaluate(LineInput input, Map<String, Long> playerIdByName,
+                                                         Map<Long, GameLogColumns> logsByPlayer, String season,
+                                                         LocalDate asOf) {
+        Long playerId = playerIdByName.get(input.getPlayer().trim());
+        if (playerId == null) return null;
+        String statKey = PlayerService.getAllowedStats().contains(input.getStat().trim().toLowerCase())
+            ? input.getStat().trim().toLowerCase() : "pts";
+        double lineVal = input.getLine().doubleValue();
+        GameLogColumns cols = logsByPlayer.getOrDefault(playerId, GameLogColumns.empty(playerId, season));
+        PropPickSuggestionDto dto = playerService.getSinglePropSuggestion(cols, statKey, lineVal, asOf);
+        if (dto == null) return null;
+        return toRow(playerId, statKey, lineVal, dto);
     }
 
+    private static DailyPropLineJdbcRepository.NewLine toRow(long playerId, String statKey, double lineVal,
+                                                             PropPickSuggestionDto dto) {
+        return new DailyPropLineJdbcRepository.NewLine(
+            playerId,
+            statKey,
+            lineVal,
+            dto.suggestion(),
+            dto.confidence(),
+            String.format("%d/5 last 5, %d/10 last 10. %s", dto.overLast5(), dto.hitRateLast10(), dto.varianceNote()),
+            dto.hitRateLast10(),
+            dto.overLast5()
+        );
+    }
+
+    /** Outcome of {@link #recomputeSlate(LocalDate)}: lines on the slate, rows rewritten, rows whose pick changed. */
+    public record RecomputeResult(LocalDate date, int lines, int recomputed, int changed) {}
+
     private static final int TOP_PICKS_LIMIT = 8;
+    private static final int MAX_SNAPSHOT_DATES = 30;
+    private static final int MAX_RECENT_EVICTIONS = 256;
+
+    /**
+     * Ranked picks for a date, the players on its slate (eligible or not), and the xmin of the DB snapshot it was
+     * read from: every transaction id below {@code xmin} is already reflected.
+     */
+    private record PicksSnapshot(List<TodayPickDto> picks, Set<Long> slatePlayerIds, long xmin, long builtAt) {}
+
+    /** One eviction: lines of {@code date} written by transaction {@code xid}, game logs of {@code playerIds}, or all. */
+    private record PicksEviction(long generation, LocalDate date, long xid, Set<Long> playerIds) {
+        boolean covers(LocalDate snapshotDate, PicksSnapshot snapshot) {
+            if (date != null) return date.equals(snapshotDate) && snapshot.xmin() <= xid;
+            if (playerIds != null) return !Collections.disjoint(playerIds, snapshot.slatePlayerIds());
+            return true;
+        }
+    }
 
     /** Confidence order for "most probable": High, Medium, Hot take, then Low. */
     private static int confidenceOrder(String c) {
@@ -97,9 +239,14 @@ public class DailyPropLineService {
         return "Under".equalsIgnoreCase(t.suggestion()) ? (5 - o) : o;
     }
 
-    /** Latest line_date in the DB (most recent day with any picks). */
+    /** Latest line_date in the DB (most recent day with any picks). Cached; advanced when lines are added. */
     public Optional<LocalDate> getLatestLineDate() {
-        return dailyPropLineRepository.findMaxLineDate();
+        Optional<LocalDate> latest = latestLineDate;
+        if (latest == null) {
+            latest = dailyPropLineRepository.findMaxLineDate();
+            latestLineDate = latest;
+        }
+        return latest;
     }
 
     /** NBA season for a date: Oct–June = current season; July–Sep = previous. */
@@ -111,67 +258,131 @@ public class DailyPropLineService {
         return startYear + "-" + (endYY < 10 ? "0" : "") + endYY;
     }
 
-    /** Get picks for a date, sorted by confidence (High first). limit null = 10 (homepage), 0 or negative = all. */
+    /**
+     * Get picks for a date, sorted by confidence (High first). limit null = top picks (homepage), 0 or negative = all.
+     * Served as a slice of the date's immutable snapshot; only the first request for a date (or one after the snapshot
+     * expires) reaches the database.
+     */
     public List<TodayPickDto> getTodayPicks(LocalDate date, Integer limit) {
-        List<DailyPropLine> list = dailyPropLineRepository.findByLineDateWithPlayer(date);
-        List<TodayPickDto> out = new ArrayList<>();
-        if (list.isEmpty()) return out;
+        List<TodayPickDto> all = snapshotFor(date);
+        int cap;
+        if (limit != null) {
+            cap = limit <= 0 ? all.size() : Math.min(limit, all.size());
+        } else {
+            // Homepage: top picks only, no forced stat-category insertion.
+            cap = Math.min(TOP_PICKS_LIMIT, all.size());
+        }
+        return all.subList(0, cap);
+    }
 
-        List<Long> playerIds = list.stream().map(d -> d.getPlayer().getId()).distinct().toList();
-        String season = seasonForDate(date);
-        Set<Long> eligiblePlayerIds = new HashSet<>(playerGameLogRepository.findPlayerIdsWithAtLeast10GamesBefore(playerIds, season, date));
-        List<Object[]> teamRows = playerIds.isEmpty() ? List.of() : playerGameLogRepository.findLatestTeamAbbrByPlayerIdsAndSeason(playerIds, season);
-        Map<Long, String> playerToTeam = new LinkedHashMap<>();
-        for (Object[] row : teamRows) {
-            Long pid = ((Number) row[0]).longValue();
-            String abbr = row[1] != null ? row[1].toString() : null;
-            playerToTeam.putIfAbsent(pid, abbr);
+    /** Rebuild the snapshot for a date from the DB and swap it in. Called after lines for that date commit. */
+    public void refreshTodayPicks(LocalDate date) {
+        long gen = picksGeneration();
+        putSnapshotIfCurrent(date, buildSnapshot(date, System.currentTimeMillis()), gen);
+        Optional<LocalDate> latest = latestLineDate;
+        if (latest == null || latest.isEmpty() || latest.get().isBefore(date)) {
+            latestLineDate = Optional.of(date);
         }
+    }
 
-        for (DailyPropLine d : list) {
-            if (!eligiblePlayerIds.contains(d.getPlayer().getId())) continue;
-            String statLabel = PlayerService.getStatLabel(d.getStatKey());
-            String teamAbbr = playerToTeam.get(d.getPlayer().getId());
-            int hit10 = d.getHitRateLast10() != null ? d.getHitRateLast10() : -1;
-            int over5 = d.getOverLast5() != null ? d.getOverLast5() : -1;
-            out.add(new TodayPickDto(
-                d.getId(),
-                d.getPlayer().getFullName(),
-                d.getPlayer().getId(),
-                statLabel,
-                d.getStatKey(),
-                d.getLineValue(),
-                d.getSuggestion(),
-                d.getConfidence(),
-                d.getReason(),
-                teamAbbr,
-                hit10,
-                over5
-            ));
+    /**
+     * Lines for a date changed in transaction {@code xid} (possibly on another instance): drop its snapshot unless it
+     * was read after that commit (e.g. the one {@link #refreshTodayPicks} just built for this instance's own write),
+     * and forget the latest date. Pass {@link Long#MAX_VALUE} when the transaction is unknown.
+     */
+    public void evictTodayPicks(LocalDate date, long xid) {
+        synchronized (picksSnapshots) {
+            PicksEviction eviction = recordEviction(date, xid, null);
+            PicksSnapshot snap = picksSnapshots.get(date);
+            if (snap != null && eviction.covers(date, snap)) picksSnapshots.remove(date);
         }
-        // Sort by confidence (High first), then suggestion-aware strength: Over = higher hit rate, Under = more unders (10-h, 5-o).
-        out.sort(Comparator
-            .comparingInt((TodayPickDto t) -> confidenceOrder(t.confidence())).reversed()
-            .thenComparing(Comparator.comparingInt((TodayPickDto t) -> normalizedHitRate(t)).reversed())
-            .thenComparing(Comparator.comparingInt((TodayPickDto t) -> normalizedOver5(t)).reversed())
-            .thenComparingLong(TodayPickDto::id));
-
-        // One pick per player: keep only the most probable (first after sort).
-        Set<Long> seenPlayerIds = new HashSet<>();
-        List<TodayPickDto> onePerPlayer = new ArrayList<>();
-        for (TodayPickDto t : out) {
-            if (seenPlayerIds.add(t.playerId())) onePerPlayer.add(t);
+        latestLineDate = null;
+    }
+
+    /** Game logs of these players changed: drop the snapshots whose slate lists any of them (eligibility and team). */
+    public void evictTodayPicksForPlayers(Set<Long> playerIds) {
+        synchronized (picksSnapshots) {
+            PicksEviction eviction = recordEviction(null, 0, Set.copyOf(playerIds));
+            picksSnapshots.entrySet().removeIf(e -> eviction.covers(e.getKey(), e.getValue()));
         }
-        out = onePerPlayer;
+    }
 
-        if (limit != null) {
-            int cap = limit <= 0 ? out.size() : Math.min(limit, out.size());
-            return out.size() <= cap ? out : out.subList(0, cap);
+    /** Drop every picks snapshot (e.g. after the invalidation listener reconnects and may have missed events). */
+    public void evictAllTodayPicks() {
+        synchronized (picksSnapshots) {
+            recordEviction(null, 0, null);
+            picksSnapshots.clear();
+        }
+    }
+
+    private List<TodayPickDto> snapshotFor(LocalDate date) {
+        PicksSnapshot snap = picksSnapshots.get(date);
+        long now = System.currentTimeMillis();
+        if (snap != null && now - snap.builtAt() < picksTtlMillis) {
+            return snap.picks();
+        }
+        long gen = picksGeneration();
+        PicksSnapshot built = buildSnapshot(date, now);
+        putSnapshotIfCurrent(date, built, gen);
+        return built.picks();
+    }
+
+    private long picksGeneration() {
+        synchronized (picksSnapshots) {
+            return picksGeneration;
         }
+    }
+
+    /** Caller holds the {@code picksSnapshots} lock. */
+    private PicksEviction recordEviction(LocalDate date, long xid, Set<Long> playerIds) {
+        PicksEviction eviction = new PicksEviction(++picksGeneration, date, xid, playerIds);
+        recentEvictions.addLast(eviction);
+        if (recentEvictions.size() > MAX_RECENT_EVICTIONS) recentEvictions.removeFirst();
+        return eviction;
+    }
+
+    /**
+     * Cache a built snapshot unless an eviction that covers it ran while it was loading (it may hold pre-eviction
+     * rows), or a build that read a later DB snapshot is already in place.
+     */
+    private void putSnapshotIfCurrent(LocalDate date, PicksSnapshot snapshot, long builtAtGeneration) {
+        synchronized (picksSnapshots) {
+            if (picksGeneration != builtAtGeneration) {
+                PicksEviction oldest = recentEvictions.peekFirst();
+                if (oldest == null || oldest.generation() > builtAtGeneration + 1) return; // history trimmed
+                for (PicksEviction e : recentEvictions) {
+                    if (e.generation() > builtAtGeneration && e.covers(date, snapshot)) return;
+                }
+            }
+            PicksSnapshot current = picksSnapshots.get(date);
+            if (current == null || current.xmin() <= snapshot.xmin()) picksSnapshots.put(date, snapshot);
+        }
+    }
 
-        // Homepage: top picks only, no forced stat-category insertion.
-        int cap = Math.min(TOP_PICKS_LIMIT, out.size());
-        return out.size() <= cap ? out : out.subList(0, cap);
+    /** Ranked, one-per-player pick list for a date (uncapped, immutable) plus what invalidates it. */
+    private PicksSnapshot buildSnapshot(LocalDate date, long builtAt) {
+        DailyPropLineJdbcRepository.SlatePicks slate =
+            dailyPropLineJdbcRepository.findPicksByLineDate(date, seasonForDate(date));
+        List<TodayPickDto> picks = slate.picks().isEmpty() ? List.of() : rankOnePerPlayer(new ArrayList<>(slate.picks()));
+        return new PicksSnapshot(picks, Set.copyOf(slate.playerIds()), slate.snapshotXmin(), builtAt);
+    }
+
+    /** Sort by confidence (High first), then suggestion-aware strength: Over = higher hit rate, Under = more unders (10-h, 5-o). */
+    static final Comparator<TodayPickDto> PICK_ORDER = Comparator
+        .comparingInt((TodayPickDto t) -> confidenceOrder(t.confidence())).reversed()
+        .thenComparing(Comparator.comparingInt((TodayPickDto t) -> normalizedHitRate(t)).reversed())
+        .thenComparing(Comparator.comparingInt((TodayPickDto t) -> normalizedOver5(t)).reversed())
+        .thenComparingLong(TodayPickDto::id);
+
+    /** Sorts picks in place by {@link #PICK_ORDER} and keeps the most probable pick per player. Package-private for the JMH benchmarks. */
+    static List<TodayPickDto> rankOnePerPlayer(List<TodayPickDto> picks) {
+        picks.sort(PICK_ORDER);
+        Set<Long> seenPlayerIds = new HashSet<>();
+        List<TodayPickDto> onePerPlayer = new ArrayList<>();
+        for (TodayPickDto t : picks) {
+            if (seenPlayerIds.add(t.playerId())) onePerPlayer.add(t);
+        }
+        return List.copyOf(onePerPlayer);
     }
 
     /** Request body for one line when adding daily lines. */
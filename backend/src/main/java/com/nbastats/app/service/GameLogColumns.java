@@ -0,0 +1,466 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.dto.GameLogDto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * One player-season of game logs held as primitive columns, newest game first (index 0 = most recent).
+ * Date-range loads that span seasons use the same layout with a null {@link #season()}.
+ * Immutable once built; a refresh replaces the whole instance in {@link GameLogStore}, which also drops the
+ * sorted-value indexes and split cube memoized here.
+ */
+public final class GameLogColumns {
+
+    /** Stored in {@link #minPlayedRaw()} when min_played is NULL (DNP). */
+    public static final int NULL_MINUTES = -1;
+
+    /** Last-N windows whose sorted copies are memoized (besides the full season); the ones the UI and props use. */
+    static final int[] MEMO_WINDOWS = { 5, 10, 20 };
+
+    private final long playerId;
+    private final String season;
+    private final int size;
+    private final GameLogVersion version;
+
+    private final long[] ids;
+    private final String[] nbaGameIds;
+    private final int[] gameDates; // epoch days
+    private final String[] matchups;
+    private final String[] homeAway;
+    private final String[] teamAbbr;
+    private final String[] opponentAbbr;
+    private final String[] wl;
+
+    private final int[] minPlayedRaw;
+    private final int[] minPlayed; // NULL -> 0, as used by prop logic
+    private final int[] pts;
+    private final int[] reb;
+    private final int[] ast;
+    private final int[] fg3m;
+    private final int[] fg3a;
+    private final int[] stl;
+    private final int[] blk;
+    private final int[] tov;
+
+    // Combo stats precomputed so every stat key is a plain column read.
+    private final int[] ptsReb;
+    private final int[] ptsAst;
+    private final int[] rebAst;
+    private final int[] ptsRebAst;
+
+    // stat key -> slot k holds the newest MEMO_WINDOWS[k] values sorted ascending (last slot: the whole season),
+    // built on first use; other window sizes are counted with a scan and not retained
+    private final Map<String, AtomicReferenceArray<int[]>> sortedWindows = new ConcurrentHashMap<>();
+    private volatile SplitCube splits; // built on first use
+
+    private GameLogColumns(Builder b) {
+        this.playerId = b.playerId;
+        this.season = b.season;
+        this.size = b.size;
+        this.version = new GameLogVersion(b.size, b.lastModified);
+        this.ids = Arrays.copyOf(b.ids, size);
+        this.nbaGameIds = Arrays.copyOf(b.nbaGameIds, size);
+        this.gameDates = Arrays.copyOf(b.gameDates, size);
+        this.matchups = Arrays.copyOf(b.matchups, size);
+        this.homeAway = Arrays.copyOf(b.homeAway, size);
+        this.teamAbbr = Arrays.copyOf(b.teamAbbr, size);
+        this.opponentAbbr = Arrays.copyOf(b.opponentAbbr, size);
+        this.wl = Arrays.copyOf(b.wl, size);
+        this.minPlayedRaw = Arrays.copyOf(b.minPlayed, size);
+        this.pts = Arrays.copyOf(b.pts, size);
+        this.reb = Arrays.copyOf(b.reb, size);
+        this.ast = Arrays.copyOf(b.ast, size);
+        this.fg3m = Arrays.copyOf(b.fg3m, size);
+        this.fg3a = Arrays.copyOf(b.fg3a, size);
+        this.stl = Arrays.copyOf(b.stl, size);
+        this.blk = Arrays.copyOf(b.blk, size);
+        this.tov = Arrays.copyOf(b.tov, size);
+
+        this.minPlayed = new int[size];
+        this.ptsReb = new int[size];
+        this.ptsAst = new int[size];
+        this.rebAst = new int[size];
+        this.ptsRebAst = new int[size];
+        for (int i = 0; i < size; i++) {
+            minPlayed[i] = minPlayedRaw[i] == NULL_MINUTES ? 0 : minPlayedRaw[i];
+            ptsReb[i] = pts[i] + reb[i];
+            ptsAst[i] = pts[i] + ast[i];
+            rebAst[i] = reb[i] + ast[i];
+            ptsRebAst[i] = pts[i] + reb[i] + ast[i];
+        }
+    }
+
+    public static GameLogColumns empty(long playerId, String season) {
+        return new Builder(playerId, season, 0).build();
+    }
+
+    public long playerId() { return playerId; }
+    public String season() { return season; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    /** Count and latest updated_at of the rows these columns were built from. */
+    public GameLogVersion version() { return version; }
+
+    public long[] ids() { return ids; }
+    public int[] gameDates() { return gameDates; }
+    public String[] opponentAbbr() { return opponentAbbr; }
+    public String[] homeAway() { return homeAway; }
+    public String[] teamAbbr() { return teamAbbr; }
+    public String[] wl() { return wl; }
+    public String[] nbaGameIds() { return nbaGameIds; }
+    public String[] matchups() { return matchups; }
+    public int[] minPlayedRaw() { return minPlayedRaw; }
+    public int[] fg3a() { return fg3a; }
+
+    /**
+     * Column for a stat key from {@link PlayerService#getAllowedStats()}; unknown keys fall back to pts.
+     * Callers must not modify the returned array.
+     */
+    public int[] stat(String statKey) {
+        return switch (statKey) {
+            case "pts" -> pts;
+            case "reb" -> reb;
+            case "ast" -> ast;
+            case "fg3m" -> fg3m;
+            case "stl" -> stl;
+            case "blk" -> blk;
+            case "tov" -> tov;
+            case "min_played" -> minPlayed;
+            case "pts_reb" -> ptsReb;
+            case "pts_ast" -> ptsAst;
+            case "reb_ast" -> rebAst;
+            case "pts_reb_ast" -> ptsRebAst;
+            default -> pts;
+        };
+    }
+
+    /**
+     * Values of the newest {@code n} games for a stat, sorted ascending. Memoized only for the full season and
+     * {@link #MEMO_WINDOWS}, so a client cycling through every last-N cannot pin a sorted copy per N; any other
+     * {@code n} gets a fresh copy. Callers must not modify the returned array.
+     */
+    public int[] sortedWindow(String statKey, int n) {
+        String key = PlayerService.getAllowedStats().contains(statKey) ? statKey : "pts";
+        int count = Math.min(Math.max(n, 0), size);
+        int slot = memoSlot(count);
+        if (slot < 0) return sortedCopy(key, count);
+        AtomicReferenceArray<int[]> slots = sortedWindows.computeIfAbsent(key, k -> new AtomicReferenceArray<>(MEMO_WINDOWS.length + 1));
+        int[] sorted = slots.get(slot);
+        if (sorted == null) {
+            sorted = sortedCopy(key, count);
+            slots.set(slot, sorted);
+        }
+        return sorted;
+    }
+
+    private int[] sortedCopy(String key, int count) {
+        int[] sorted = Arrays.copyOf(stat(key), count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /** Memo slot for a window of {@code count} games (already clamped to size), or -1 when not memoized. */
+    private int memoSlot(int count) {
+        if (count == size) return MEMO_WINDOWS.length;
+        for (int k = 0; k < MEMO_WINDOWS.length; k++) {
+            if (MEMO_WINDOWS[k] == count) return k;
+        }
+        return -1;
+    }
+
+    /** Opponent / venue / rest / result split cube over these games, built once on first use. */
+    public SplitCube splits() {
+        SplitCube s = splits;
+        if (s == null) {
+            s = SplitCube.build(this);
+            splits = s; // a racing second build is identical and harmless
+        }
+        return s;
+    }
+
+    /**
+     * Number of the newest {@code n} games where the stat is at or above the threshold: O(log n) for memoized
+     * windows, otherwise a scan of the newest {@code n} values (no allocation).
+     */
+    public int countAtOrAbove(String statKey, int n, double threshold) {
+        String key = PlayerService.getAllowedStats().contains(statKey) ? statKey : "pts";
+        int count = Math.min(Math.max(n, 0), size);
+        if (memoSlot(count) >= 0) {
+            int[] sorted = sortedWindow(key, count);
+            return sorted.length - lowerBound(sorted, threshold);
+        }
+        int[] values = stat(key);
+        int c = 0;
+        for (int i = 0; i < count; i++) {
+            if (values[i] >= threshold) c++;
+        }
+        return c;
+    }
+
+    /**
+     * Number of games on or after {@code date}; these are indexes {@code [0, n)} (dates are newest first), so index
+     * {@code n - 1} is the first game on or after the date and {@code n} the last game strictly before it.
+     */
+    public int gamesOnOrAfter(LocalDate date) {
+        int day = (int) date.toEpochDay();
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (gameDates[mid] >= day) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** First index whose value is {@code >= threshold}; {@code sorted.length} when none. */
+    static int lowerBound(int[] sorted, double threshold) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < threshold) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public GameLogDto toDto(int i) {
+        return new GameLogDto(
+            ids[i],
+            nbaGameIds[i],
+            LocalDate.ofEpochDay(gameDates[i]),
+            season,
+            matchups[i],
+            homeAway[i],
+            teamAbbr[i],
+            opponentAbbr[i],
+            wl[i],
+            minPlayedRaw[i] == NULL_MINUTES ? null : minPlayedRaw[i],
+            pts[i],
+            reb[i],
+            ast[i],
+            stl[i],
+            blk[i],
+            tov[i],
+            fg3m[i]
+        );
+    }
+
+    public List<GameLogDto> toDtos() {
+        List<GameLogDto> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            out.add(toDto(i));
+        }
+        return out;
+    }
+
+    /**
+     * One field as a whole column, newest first, for columnar responses. Stat and id columns are the live arrays
+     * (no copy; callers must not modify them); dates come back as ISO strings and DNP minutes as null.
+     */
+    public Object column(GameLogField field) {
+        return switch (field) {
+            case PLAYER_ID -> {
+                long[] out = new long[size];
+                Arrays.fill(out, playerId);
+                yield out;
+            }
+            case ID -> ids;
+            case NBA_GAME_ID -> nbaGameIds;
+            case GAME_DATE -> {
+                String[] out = new String[size];
+                for (int i = 0; i < size; i++) out[i] = LocalDate.ofEpochDay(gameDates[i]).toString();
+                yield out;
+            }
+            case SEASON -> {
+                String[] out = new String[size];
+                Arrays.fill(out, season);
+                yield out;
+            }
+            case MATCHUP -> matchups;
+            case HOME_AWAY -> homeAway;
+            case TEAM_ABBR -> teamAbbr;
+            case OPPONENT_ABBR -> opponentAbbr;
+            case WL -> wl;
+            case MIN_PLAYED -> {
+                Integer[] out = new Integer[size];
+                for (int i = 0; i < size; i++) out[i] = minPlayedRaw[i] == NULL_MINUTES ? null : minPlayedRaw[i];
+                yield out;
+            }
+            case PTS -> pts;
+            case REB -> reb;
+            case AST -> ast;
+            case STL -> stl;
+            case BLK -> blk;
+            case TOV -> tov;
+            case FG3M -> fg3m;
+            case FG3A -> fg3a;
+        };
+    }
+
+    /** One field of game {@code i}, boxed, as it appears in {@link #toDto(int)}. */
+    public Object value(GameLogField field, int i) {
+        return switch (field) {
+            case PLAYER_ID -> playerId;
+            case ID -> ids[i];
+            case NBA_GAME_ID -> nbaGameIds[i];
+            case GAME_DATE -> LocalDate.ofEpochDay(gameDates[i]);
+            case SEASON -> season;
+            case MATCHUP -> matchups[i];
+            case HOME_AWAY -> homeAway[i];
+            case TEAM_ABBR -> teamAbbr[i];
+            case OPPONENT_ABBR -> opponentAbbr[i];
+            case WL -> wl[i];
+            case MIN_PLAYED -> minPlayedRaw[i] == NULL_MINUTES ? null : minPlayedRaw[i];
+            case PTS -> pts[i];
+            case REB -> reb[i];
+            case AST -> ast[i];
+            case STL -> stl[i];
+            case BLK -> blk[i];
+            case TOV -> tov[i];
+            case FG3M -> fg3m[i];
+            case FG3A -> fg3a[i];
+        };
+    }
+
+    /**
+     * Rough retained size in bytes, including the sorted windows and split cube memoized so far. Interned
+     * abbreviations are shared; game id and matchup strings are not.
+     */
+    public long estimatedBytes() {
+        // 15 int columns, 1 long column, 6 reference columns (compressed oops), ~16 bytes header per array,
+        // plus ~56 bytes each for the per-game nba_game_id and matchup strings
+        long bytes = 22 * 16L + size * (15L * 4 + 8 + 6L * 4 + 2 * 56);
+        for (AtomicReferenceArray<int[]> slots : sortedWindows.values()) {
+            bytes += 64 + 16 + 4L * slots.length(); // map entry, slot array
+            for (int k = 0; k < slots.length(); k++) {
+                int[] sorted = slots.get(k);
+                if (sorted != null) bytes += 16 + 4L * sorted.length;
+            }
+        }
+        SplitCube cube = splits;
+        if (cube != null) bytes += cube.estimatedBytes();
+        return bytes;
+    }
+
+    /** Appends rows in the order they are given; callers add newest first. */
+    public static final class Builder {
+        private final long playerId;
+        private final String season;
+        private int size;
+        private Instant lastModified;
+
+        private long[] ids;
+        private String[] nbaGameIds;
+        private int[] gameDates;
+        private String[] matchups;
+        private String[] homeAway;
+        private String[] teamAbbr;
+        private String[] opponentAbbr;
+        private String[] wl;
+        private int[] minPlayed;
+        private int[] pts;
+        private int[] reb;
+        private int[] ast;
+        private int[] fg3m;
+        private int[] fg3a;
+        private int[] stl;
+        private int[] blk;
+        private int[] tov;
+
+        public Builder(long playerId, String season, int expectedSize) {
+            this.playerId = playerId;
+            this.season = season;
+            int cap = Math.max(expectedSize, 8);
+            ids = new long[cap];
+            nbaGameIds = new String[cap];
+            gameDates = new int[cap];
+            matchups = new String[cap];
+            homeAway = new String[cap];
+            teamAbbr = new String[cap];
+            opponentAbbr = new String[cap];
+            wl = new String[cap];
+            minPlayed = new int[cap];
+            pts = new int[cap];
+            reb = new int[cap];
+            ast = new int[cap];
+            fg3m = new int[cap];
+            fg3a = new int[cap];
+            stl = new int[cap];
+            blk = new int[cap];
+            tov = new int[cap];
+        }
+
+        public Builder add(long id, String nbaGameId, LocalDate gameDate, String matchup, String homeAway,
+                           String teamAbbr, String opponentAbbr, String wl, Integer minPlayed,
+                           Integer pts, Integer reb, Integer ast, Integer fg3m, Integer fg3a,
+                           Integer stl, Integer blk, Integer tov) {
+            if (size == ids.length) grow();
+            int i = size++;
+            this.ids[i] = id;
+            this.nbaGameIds[i] = nbaGameId;
+            this.gameDates[i] = (int) gameDate.toEpochDay();
+            this.matchups[i] = matchup;
+            // Low-cardinality strings are interned so thousands of cached seasons share one copy.
+            this.homeAway[i] = homeAway != null ? homeAway.intern() : null;
+            this.teamAbbr[i] = teamAbbr != null ? teamAbbr.intern() : null;
+            this.opponentAbbr[i] = opponentAbbr != null ? opponentAbbr.intern() : null;
+            this.wl[i] = wl != null ? wl.intern() : null;
+            this.minPlayed[i] = minPlayed != null ? minPlayed : NULL_MINUTES;
+            this.pts[i] = pts != null ? pts : 0;
+            this.reb[i] = reb != null ? reb : 0;
+            this.ast[i] = ast != null ? ast : 0;
+            this.fg3m[i] = fg3m != null ? fg3m : 0;
+            this.fg3a[i] = fg3a != null ? fg3a : 0;
+            this.stl[i] = stl != null ? stl : 0;
+            this.blk[i] = blk != null ? blk : 0;
+            this.tov[i] = tov != null ? tov : 0;
+            return this;
+        }
+
+        /** Track the latest updated_at seen, for {@link GameLogColumns#version()}. */
+        public Builder noteUpdatedAt(Instant updatedAt) {
+            if (updatedAt != null && (lastModified == null || updatedAt.isAfter(lastModified))) {
+                lastModified = updatedAt;
+            }
+            return this;
+        }
+
+        private void grow() {
+            int cap = ids.length * 2;
+            ids = Arrays.copyOf(ids, cap);
+            nbaGameIds = Arrays.copyOf(nbaGameIds, cap);
+            gameDates = Arrays.copyOf(gameDates, cap);
+            matchups = Arrays.copyOf(matchups, cap);
+            homeAway = Arrays.copyOf(homeAway, cap);
+            teamAbbr = Arrays.copyOf(teamAbbr, cap);
+            opponentAbbr = Arrays.copyOf(opponentAbbr, cap);
+            wl = Arrays.copyOf(wl, cap);
+            minPlayed = Arrays.copyOf(minPlayed, cap);
+            pts = Arrays.copyOf(pts, cap);
+            reb = Arrays.copyOf(reb, cap);
+            ast = Arrays.copyOf(ast, cap);
+            fg3m = Arrays.copyOf(fg3m, cap);
+            fg3a = Arrays.copyOf(fg3a, cap);
+            stl = Arrays.copyOf(stl, cap);
+            blk = Arrays.copyOf(blk, cap);
+            tov = Arrays.copyOf(tov, cap);
+        }
+
+        public GameLogColumns build() {
+            return new GameLogColumns(this);
+        }
+    }
+}
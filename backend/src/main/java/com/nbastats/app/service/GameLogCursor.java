@@ -0,0 +1,30 @@
+package com.nbastats.app.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Keyset position in a player's game log ordered by (game_date DESC, id DESC): the last row of a page. The next page
+ * starts strictly after it, so a page costs one index range scan however deep the caller has scrolled.
+ * Sent to clients as an opaque URL-safe token.
+ */
+public record GameLogCursor(LocalDate gameDate, long id) {
+
+    public String encode() {
+        String raw = gameDate.toEpochDay() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /** Parse a token from {@link #encode()}; {@link IllegalArgumentException} when it is not one. */
+    public static GameLogCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.US_ASCII);
+            int sep = raw.indexOf(':');
+            return new GameLogCursor(LocalDate.ofEpochDay(Long.parseLong(raw.substring(0, sep))),
+                Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.nbastats.app.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** Filters for a game-log export; empty lists and null dates mean "no restriction". Dates are inclusive. */
+public record GameLogExportFilter(
+    List<Long> playerIds,
+    List<String> seasons,
+    LocalDate from,
+    LocalDate to
+) {
+    public GameLogExportFilter {
+        playerIds = playerIds != null ? List.copyOf(playerIds) : List.of();
+        seasons = seasons != null ? List.copyOf(seasons) : List.of();
+    }
+}
@@ -0,0 +1,251 @@
+package com.nbastats.app.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.nbastats.app.repository.GameLogJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams game logs as NDJSON, CSV, NDJSON column blocks or CBOR column blocks straight from a JDBC cursor to the
+ * response. Rows are written as they are read (column formats hold one block of {@link #FETCH_SIZE} rows), so heap
+ * use is the cursor's fetch window plus the output buffer, whatever the export size.
+ */
+@Service
+public class GameLogExportService {
+
+    /**
+     * NDJSON / CSV: one record per game. COLUMNS: NDJSON where each line is a block of up to {@link #FETCH_SIZE}
+     * games as one array per field ({@code {"rows":1000,"pts":[...],...}}). CBOR: the same blocks as a CBOR sequence.
+     */
+    public enum Format { NDJSON, CSV, COLUMNS, CBOR }
+
+    /** Rows per cursor round trip, and per block in the column formats. */
+    static final int FETCH_SIZE = 1000;
+
+    private final GameLogJdbcRepository gameLogJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final CBORFactory cborFactory = new CBORFactory();
+    private final Semaphore slots;
+
+    public GameLogExportService(GameLogJdbcRepository gameLogJdbcRepository, ObjectMapper objectMapper,
+                                @Value("${nbastats.export.max-concurrent:1}") int maxConcurrent) {
+        this.gameLogJdbcRepository = gameLogJdbcRepository;
+        this.objectMapper = objectMapper;
+        this.slots = new Semaphore(Math.max(maxConcurrent, 1));
+    }
+
+    /**
+     * Reserve one of the {@code nbastats.export.max-concurrent} export slots without waiting. Each running export
+     * holds a pooled connection (and a bulkhead permit) for as long as it streams, so the cap keeps exports from
+     * starving every other endpoint. False when all slots are taken; otherwise pair with {@link #release()}.
+     */
+    public boolean tryReserve() {
+        return slots.tryAcquire();
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    /**
+     * Write all matching rows to {@code out}, with only {@code fields} (selected in that order in SQL too).
+     * Read-only transaction so the Postgres driver uses a cursor (it only does with autocommit off).
+     * Holds one pooled connection until the export finishes.
+     */
+    @Transactional(readOnly = true)
+    public void export(GameLogExportFilter filter, List<GameLogField> fields, Format format, OutputStream out)
+            throws IOException {
+        try {
+            switch (format) {
+                case CSV -> writeCsv(filter, fields, out);
+                case NDJSON -> writeNdjson(filter, fields, out);
+                case COLUMNS -> writeBlocks(filter, fields, objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8), true);
+                case CBOR -> writeBlocks(filter, fields, cborFactory.createGenerator(out), false);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // client went away mid-export; the cursor is already closed
+        }
+    }
+
+    private void writeNdjson(GameLogExportFilter filter, List<GameLogField> fields, OutputStream out) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // the container owns the response stream
+            gen.setRootValueSeparator(new SerializedString("\n"));
+            boolean[] any = { false };
+            gameLogJdbcRepository.streamForExport(filter, fields, FETCH_SIZE, rs -> {
+                try {
+                    any[0] = true;
+                    gen.writeStartObject();
+                    for (int c = 0; c < fields.size(); c++) {
+                        gen.writeFieldName(fields.get(c).key());
+                        writeJsonValue(gen, rs, c + 1, fields.get(c).kind());
+                    }
+                    gen.writeEndObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (any[0]) gen.writeRaw('\n');
+        }
+    }
+
+    private void writeCsv(GameLogExportFilter filter, List<GameLogField> fields, OutputStream out) throws IOException {
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) w.write(',');
+            w.write(fields.get(i).key());
+        }
+        w.write('\n');
+        gameLogJdbcRepository.streamForExport(filter, fields, FETCH_SIZE, rs -> {
+            try {
+                for (int i = 0; i < fields.size(); i++) {
+                    if (i > 0) w.write(',');
+                    String v = rs.getString(i + 1);
+                    if (v != null) w.write(csvEscape(v));
+                }
+                w.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        w.flush(); // not closed: the container owns the response stream
+    }
+
+    /** Column blocks of up to {@link #FETCH_SIZE} rows; {@code lines} separates them with newlines (NDJSON). */
+    private void writeBlocks(GameLogExportFilter filter, List<GameLogField> fields, JsonGenerator generator,
+                             boolean lines) throws IOException {
+        try (JsonGenerator gen = generator) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (lines) gen.setRootValueSeparator(new SerializedString("\n"));
+            ColumnBlock block = new ColumnBlock(fields, FETCH_SIZE);
+            gameLogJdbcRepository.streamForExport(filter, fields, FETCH_SIZE, rs -> {
+                try {
+                    block.add(rs);
+                    if (block.size == FETCH_SIZE) block.flush(gen);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            boolean any = block.flushed || block.size > 0;
+            if (block.size > 0) block.flush(gen);
+            if (lines && any) gen.writeRaw('\n');
+        }
+    }
+
+    /** Column {@code index} (1-based; the select list is the requested fields in order). */
+    private static void writeJsonValue(JsonGenerator gen, ResultSet rs, int index, GameLogField.Kind kind)
+            throws IOException, SQLException {
+        switch (kind) {
+            case LONG -> gen.writeNumber(rs.getLong(index));
+            case INT -> {
+                int v = rs.getInt(index);
+                if (rs.wasNull()) gen.writeNull();
+                else gen.writeNumber(v);
+            }
+            case TEXT -> {
+                String v = rs.getString(index); // game_date comes back as yyyy-MM-dd
+                if (v == null) gen.writeNull();
+                else gen.writeString(v);
+            }
+        }
+    }
+
+    /** One block of rows held as typed per-field arrays, reused across blocks. */
+    private static final class ColumnBlock {
+        private final List<GameLogField> fields;
+        private final long[][] longs;
+        private final int[][] ints;
+        private final boolean[][] nulls;
+        private final String[][] texts;
+        int size;
+        boolean flushed;
+
+        ColumnBlock(List<GameLogField> fields, int capacity) {
+            this.fields = fields;
+            int k = fields.size();
+            longs = new long[k][];
+            ints = new int[k][];
+            nulls = new boolean[k][];
+            texts = new String[k][];
+            for (int c = 0; c < k; c++) {
+                switch (fields.get(c).kind()) {
+                    case LONG -> longs[c] = new long[capacity];
+                    case INT -> {
+                        ints[c] = new int[capacity];
+                        nulls[c] = new boolean[capacity];
+                    }
+                    case TEXT -> texts[c] = new String[capacity];
+                }
+            }
+        }
+
+        void add(ResultSet rs) throws SQLException {
+            int i = size++;
+            for (int c = 0; c < fields.size(); c++) {
+                switch (fields.get(c).kind()) {
+                    case LONG -> longs[c][i] = rs.getLong(c + 1);
+                    case INT -> {
+                        ints[c][i] = rs.getInt(c + 1);
+                        nulls[c][i] = rs.wasNull();
+                    }
+                    case TEXT -> texts[c][i] = rs.getString(c + 1);
+                }
+            }
+        }
+
+        void flush(JsonGenerator gen) throws IOException {
+            gen.writeStartObject();
+            gen.writeNumberField("rows", size);
+            for (int c = 0; c < fields.size(); c++) {
+                gen.writeFieldName(fields.get(c).key());
+                gen.writeStartArray();
+                for (int i = 0; i < size; i++) {
+                    switch (fields.get(c).kind()) {
+                        case LONG -> gen.writeNumber(longs[c][i]);
+                        case INT -> {
+                            if (nulls[c][i]) gen.writeNull();
+                            else gen.writeNumber(ints[c][i]);
+                        }
+                        case TEXT -> {
+                            if (texts[c][i] == null) gen.writeNull();
+                            else gen.writeString(texts[c][i]);
+                        }
+                    }
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+            gen.flush();
+            size = 0;
+            flushed = true;
+        }
+    }
+
+    /** RFC 4180: quote fields containing a comma, quote or line break; double embedded quotes. */
+    static String csvEscape(String v) {
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + v.replace("\"", "\"\"") + '"';
+            }
+        }
+        return v;
+    }
+}
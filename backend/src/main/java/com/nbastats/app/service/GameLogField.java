@@ -0,0 +1,76 @@
+package com.nbastats.app.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Game-log fields a client can project with {@code fields=}: the JSON key (as in {@code GameLogDto}) and the
+ * player_game_logs column it is read from. Shared by {@code /games} and the export so both accept the same names.
+ */
+public enum GameLogField {
+    PLAYER_ID("playerId", "player_id", Kind.LONG),
+    ID("id", "id", Kind.LONG),
+    NBA_GAME_ID("nbaGameId", "nba_game_id", Kind.TEXT),
+    GAME_DATE("gameDate", "game_date", Kind.TEXT),
+    SEASON("season", "season", Kind.TEXT),
+    MATCHUP("matchup", "matchup", Kind.TEXT),
+    HOME_AWAY("homeAway", "home_away", Kind.TEXT),
+    TEAM_ABBR("teamAbbr", "team_abbr", Kind.TEXT),
+    OPPONENT_ABBR("opponentAbbr", "opponent_abbr", Kind.TEXT),
+    WL("wl", "wl", Kind.TEXT),
+    MIN_PLAYED("minPlayed", "min_played", Kind.INT),
+    PTS("pts", "pts", Kind.INT),
+    REB("reb", "reb", Kind.INT),
+    AST("ast", "ast", Kind.INT),
+    STL("stl", "stl", Kind.INT),
+    BLK("blk", "blk", Kind.INT),
+    TOV("tov", "tov", Kind.INT),
+    FG3M("fg3m", "fg3m", Kind.INT),
+    FG3A("fg3a", "fg3a", Kind.INT);
+
+    public enum Kind { LONG, INT, TEXT }
+
+    /** Every field, in export order. */
+    public static final List<GameLogField> ALL = List.of(values());
+
+    private static final Map<String, GameLogField> BY_KEY = ALL.stream()
+        .collect(Collectors.toMap(f -> f.key.toLowerCase(Locale.ROOT), Function.identity()));
+
+    private final String key;
+    private final String column;
+    private final Kind kind;
+
+    GameLogField(String key, String column, Kind kind) {
+        this.key = key;
+        this.column = column;
+        this.kind = kind;
+    }
+
+    public String key() { return key; }
+    public String column() { return column; }
+    public Kind kind() { return kind; }
+
+    /**
+     * Fields named in a {@code fields=} list (JSON keys, case-insensitive, or column names), de-duplicated in the
+     * order given; {@code defaults} when the list is null or empty. Unknown names throw {@link IllegalArgumentException}.
+     */
+    public static List<GameLogField> parse(List<String> names, List<GameLogField> defaults) {
+        if (names == null) return defaults;
+        Set<GameLogField> out = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name == null || name.isBlank()) continue;
+            String n = name.trim().toLowerCase(Locale.ROOT);
+            GameLogField f = BY_KEY.get(n);
+            if (f == null) f = BY_KEY.get(n.replace("_", ""));
+            if (f == null) throw new IllegalArgumentException("Unknown field: " + name.trim());
+            out.add(f);
+        }
+        return out.isEmpty() ? defaults : new ArrayList<>(out);
+    }
+}
@@ -0,0 +1,435 @@
+package com.nbastats.app.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbastats.app.dto.GameLogImportResultDto;
+import com.nbastats.app.repository.GameLogImportJdbcRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import of NBA-stats game-log files (the {@code resultSets} / {@code headers} / {@code rowSet} JSON that
+ * stats.nba.com and nba_api return, a JSON array of row objects, or CSV with the same column names). Files are read
+ * with a streaming parser and each row is written straight into a COPY, so memory use does not grow with file size;
+ * one merge statement then upserts everything into player_game_logs. HTTP uploads are first {@link #spool spooled} to
+ * a temp file so the transaction (and its pooled connection) only lasts as long as the parse and COPY.
+ */
+@Service
+public class GameLogImportService {
+
+    public enum Format { JSON, CSV }
+
+    /** Source columns we read, by NBA stats header name (matched case-insensitively: Player_ID, GAME_ID, ...). */
+    private static final List<String> SOURCE = List.of(
+        "PLAYER_ID", "PLAYER_NAME", "GAME_ID", "GAME_DATE", "SEASON", "SEASON_ID", "MATCHUP", "WL", "MIN",
+        "PTS", "REB", "AST", "STL", "BLK", "TOV", "FGM", "FGA", "FG3M", "FG3A", "FTM", "FTA", "OREB", "DREB", "PF",
+        "PLUS_MINUS");
+    private static final int PLAYER_ID = 0;
+    private static final int PLAYER_NAME = 1;
+    private static final int GAME_ID = 2;
+    private static final int GAME_DATE = 3;
+    private static final int SEASON = 4;
+    private static final int SEASON_ID = 5;
+    private static final int MATCHUP = 6;
+    private static final int WL = 7;
+    private static final int MIN = 8;
+    private static final int FIRST_COUNT = 9; // PTS .. PLUS_MINUS, in GameLogImportJdbcRepository.STAGE_COLUMNS order
+
+    private static final Map<String, Integer> SOURCE_INDEX = new HashMap<>();
+    static {
+        for (int i = 0; i < SOURCE.size(); i++) SOURCE_INDEX.put(SOURCE.get(i), i);
+    }
+
+    private static final Pattern SEASON_LABEL = Pattern.compile("\\d{4}-\\d{2}");
+    /** GAME_DATE as nba_api's player game log sends it, e.g. "APR 10, 2024". */
+    private static final DateTimeFormatter NBA_DATE = new DateTimeFormatterBuilder()
+        .parseCaseInsensitive().appendPattern("MMM d, yyyy").toFormatter(Locale.ENGLISH);
+
+    private final GameLogImportJdbcRepository importRepository;
+    private final GameLogStore gameLogStore;
+    private final PlayerSearchIndex playerSearchIndex;
+    private final ObjectMapper objectMapper;
+    private final long maxUploadBytes;
+
+    public GameLogImportService(GameLogImportJdbcRepository importRepository, GameLogStore gameLogStore,
+                                PlayerSearchIndex playerSearchIndex, ObjectMapper objectMapper,
+                                @Value("${nbastats.import.max-bytes:268435456}") long maxUploadBytes) {
+        this.importRepository = importRepository;
+        this.gameLogStore = gameLogStore;
+        this.playerSearchIndex = playerSearchIndex;
+        this.objectMapper = objectMapper;
+        this.maxUploadBytes = maxUploadBytes;
+    }
+
+    /**
+     * Copy an upload to a temp file before any transaction starts, so a slow or stalled client holds neither a pooled
+     * connection nor a bulkhead permit. The caller deletes the file. Fails past {@code nbastats.import.max-bytes}.
+     */
+    public Path spool(InputStream in, Format format) throws IOException {
+        Path file = Files.createTempFile("nbastats-import-", format == Format.CSV ? ".csv" : ".json");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buf = new byte[64 * 1024];
+            long total = 0;
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                total += n;
+                if (total > maxUploadBytes) {
+                    throw new ImportTooLargeException("Upload exceeds " + maxUploadBytes + " bytes");
+                }
+                out.write(buf, 0, n);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Stream {@code in} (a local file: see {@link #spool}) into staging and merge. {@code defaultSeason} is used for rows with neither SEASON nor
+     * SEASON_ID; when null the season is derived from the game date. Cached game logs are dropped after commit.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    @Timed(value = "nbastats.compute", extraTags = {"stage", "gameLogImport"}, histogram = true)
+    public GameLogImportResultDto importGameLogs(InputStream in, Format format, String defaultSeason) throws IOException {
+        long start = System.nanoTime();
+        StageRows rows = new StageRows(defaultSeason);
+        try {
+            importRepository.stage(w -> {
+                rows.out = w;
+                if (format == Format.CSV) {
+                    readCsv(in, rows);
+                } else {
+                    readJson(in, rows);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // malformed JSON (JsonProcessingException) or a failed read of the upload
+        }
+        GameLogImportJdbcRepository.MergeResult merged = importRepository.mergeStaged();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                gameLogStore.invalidateAll();
+                if (merged.playersCreated() > 0) playerSearchIndex.refreshIfChanged();
+            }
+        });
+        return new GameLogImportResultDto(rows.read, rows.skipped, merged.playersCreated(), merged.inserted(),
+            merged.updated(), merged.unchanged(), merged.unknownPlayer(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Format by file extension (.csv, otherwise JSON). */
+    public static Format formatOf(String filename) {
+        return filename.toLowerCase(Locale.ROOT).endsWith(".csv") ? Format.CSV : Format.JSON;
+    }
+
+    private void readJson(InputStream in, StageRows rows) throws IOException {
+        try (JsonParser p = objectMapper.getFactory().createParser(in)) {
+            JsonToken first = p.nextToken();
+            if (first == JsonToken.START_ARRAY) {
+                readObjectRows(p, rows);
+                return;
+            }
+            int[] columns = null;
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                if (t != JsonToken.FIELD_NAME) continue;
+                String name = p.currentName();
+                if ("headers".equals(name)) {
+                    p.nextToken();
+                    columns = readHeaders(p);
+                } else if ("rowSet".equals(name)) {
+                    p.nextToken();
+                    if (columns == null) throw new IllegalArgumentException("rowSet before headers");
+                    readArrayRows(p, columns, rows);
+                }
+            }
+        }
+    }
+
+    /** Header names -> source index per position (-1 = column not used); null when headers is not an array. */
+    private static int[] readHeaders(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return null;
+        }
+        List<String> names = new ArrayList<>();
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (t != JsonToken.VALUE_STRING) {
+                p.skipChildren();
+                names.add(""); // keeps positions aligned with rowSet values
+                continue;
+            }
+            names.add(p.getText());
+        }
+        return columnMap(names);
+    }
+
+    private static void readArrayRows(JsonParser p, int[] columns, StageRows rows) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        String[] f = new String[SOURCE.size()];
+        while (p.nextToken() == JsonToken.START_ARRAY) {
+            Arrays.fill(f, null);
+            int i = 0;
+            JsonToken t;
+            while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+                if (t.isStructStart()) {
+                    p.skipChildren();
+                } else if (i < columns.length && columns[i] >= 0 && t != JsonToken.VALUE_NULL) {
+                    f[columns[i]] = p.getText();
+                }
+                i++;
+            }
+            rows.write(f);
+        }
+    }
+
+    private static void readObjectRows(JsonParser p, StageRows rows) throws IOException {
+        Map<String, Integer> keys = new HashMap<>();
+        String[] f = new String[SOURCE.size()];
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            Arrays.fill(f, null);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                int idx = keys.computeIfAbsent(p.currentName(), GameLogImportService::sourceIndex);
+                JsonToken t = p.nextToken();
+                if (t.isStructStart()) {
+                    p.skipChildren();
+                } else if (idx >= 0 && t != JsonToken.VALUE_NULL) {
+                    f[idx] = p.getText();
+                }
+            }
+            rows.write(f);
+        }
+    }
+
+    static void readCsv(InputStream in, StageRows rows) throws IOException {
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024));
+        String[] header = csv.next();
+        if (header == null) return;
+        if (!header[0].isEmpty() && header[0].charAt(0) == '\uFEFF') header[0] = header[0].substring(1); // UTF-8 BOM
+        int[] columns = columnMap(Arrays.asList(header));
+        String[] f = new String[SOURCE.size()];
+        String[] record;
+        while ((record = csv.next()) != null) {
+            if (record.length == 1 && record[0].isEmpty()) continue; // blank line
+            Arrays.fill(f, null);
+            for (int i = 0; i < record.length && i < columns.length; i++) {
+                if (columns[i] >= 0 && !record[i].isEmpty()) f[columns[i]] = record[i];
+            }
+            rows.write(f);
+        }
+    }
+
+    private static int[] columnMap(List<String> headers) {
+        int[] columns = new int[headers.size()];
+        for (int i = 0; i < columns.length; i++) columns[i] = sourceIndex(headers.get(i));
+        return columns;
+    }
+
+    private static int sourceIndex(String header) {
+        return SOURCE_INDEX.getOrDefault(header.trim().toUpperCase(Locale.ROOT), -1);
+    }
+
+    /** Turns source rows into COPY csv lines in GameLogImportJdbcRepository.STAGE_COLUMNS order. */
+    static final class StageRows {
+        private final String defaultSeason;
+        private final StringBuilder line = new StringBuilder(256);
+        Writer out;
+        int read;
+        int skipped;
+
+        StageRows(String defaultSeason) {
+            this.defaultSeason = defaultSeason;
+        }
+
+        void write(String[] f) throws IOException {
+            read++;
+            Long nbaPlayerId = parseLong(f[PLAYER_ID]);
+            String gameId = f[GAME_ID] != null ? f[GAME_ID].trim() : "";
+            LocalDate date = parseDate(f[GAME_DATE]);
+            if (nbaPlayerId == null || gameId.isEmpty() || date == null) {
+                skipped++;
+                return;
+            }
+            StringBuilder sb = line;
+            sb.setLength(0);
+            sb.append(read).append(',').append(nbaPlayerId).append(',');
+            quote(sb, f[PLAYER_NAME] != null ? f[PLAYER_NAME].trim() : null).append(',');
+            quote(sb, gameId).append(',');
+            sb.append(date).append(',');
+            quote(sb, season(f, date)).append(',');
+            quote(sb, f[MATCHUP]).append(',');
+            quote(sb, f[WL]).append(',');
+            appendInt(sb, parseMinutes(f[MIN]));
+            for (int i = FIRST_COUNT; i < SOURCE.size(); i++) {
+                sb.append(',');
+                appendInt(sb, parseInt(f[i]));
+            }
+            sb.append('\n');
+            out.append(sb);
+        }
+
+        /** SEASON as given ("2024-25"), else SEASON_ID ("22024" -> "2024-25", as in ingest.py), else default or date. */
+        String season(String[] f, LocalDate date) {
+            if (f[SEASON] != null && SEASON_LABEL.matcher(f[SEASON].trim()).matches()) return f[SEASON].trim();
+            String sid = f[SEASON_ID] != null ? f[SEASON_ID].trim() : "";
+            if (sid.length() >= 5 && sid.chars().allMatch(Character::isDigit)) {
+                return seasonLabel(Integer.parseInt(sid.substring(1, 5)));
+            }
+            if (defaultSeason != null) return defaultSeason;
+            return seasonLabel(date.getMonthValue() >= 8 ? date.getYear() : date.getYear() - 1);
+        }
+
+        private static String seasonLabel(int startYear) {
+            return String.format("%d-%02d", startYear, (startYear + 1) % 100);
+        }
+
+        private static void appendInt(StringBuilder sb, Integer v) {
+            if (v != null) sb.append(v.intValue());
+        }
+
+        private static StringBuilder quote(StringBuilder sb, String v) {
+            if (v == null) return sb;
+            sb.append('"');
+            for (int i = 0; i < v.length(); i++) {
+                char c = v.charAt(i);
+                if (c == '"') sb.append('"');
+                sb.append(c);
+            }
+            return sb.append('"');
+        }
+    }
+
+    /** "2024-04-10", "2024-04-10T00:00:00" or "APR 10, 2024"; null when missing or unparseable. */
+    static LocalDate parseDate(String v) {
+        if (v == null || v.isBlank()) return null;
+        String s = v.trim();
+        try {
+            if (s.length() >= 10 && Character.isDigit(s.charAt(0))) return LocalDate.parse(s.substring(0, 10));
+            return LocalDate.parse(s, NBA_DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** Like ingest.py's _int: numeric text truncated toward zero, null when missing or not a number. */
+    static Integer parseInt(String v) {
+        if (v == null || v.isBlank()) return null;
+        try {
+            return (int) Double.parseDouble(v.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** MIN as whole minutes: "34", "34.5" or "34:12". */
+    static Integer parseMinutes(String v) {
+        if (v == null) return null;
+        int colon = v.indexOf(':');
+        return parseInt(colon >= 0 ? v.substring(0, colon) : v);
+    }
+
+    static Long parseLong(String v) {
+        if (v == null || v.isBlank()) return null;
+        String s = v.trim();
+        try {
+            return s.indexOf('.') >= 0 ? (long) Double.parseDouble(s) : Long.parseLong(s);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** Minimal streaming RFC 4180 reader: quoted fields, doubled quotes, CRLF or LF line ends. */
+    static final class CsvReader {
+        private final Reader in;
+        private final StringBuilder field = new StringBuilder();
+        private int peeked = -2;
+
+        CsvReader(Reader in) {
+            this.in = in;
+        }
+
+        /** Next record, or null at end of input. */
+        String[] next() throws IOException {
+            int c = read();
+            if (c == -1) return null;
+            List<String> out = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) throw new IllegalArgumentException("Unterminated quoted CSV field");
+                    if (c == '"') {
+                        int n = read();
+                        if (n == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = n;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    out.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c == '\r') {
+                    int n = read();
+                    if (n != '\n' && n != -1) peeked = n;
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+            out.add(field.toString());
+            return out.toArray(new String[0]);
+        }
+
+        private int read() throws IOException {
+            if (peeked != -2) {
+                int c = peeked;
+                peeked = -2;
+                return c;
+            }
+            return in.read();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.dto.GameLogImportResultDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Imports game-log files dropped into {@code nbastats.import.watch-dir}. The directory is polled rather than watched
+ * with a WatchService, which misses events on Docker bind mounts and network filesystems. A file is picked up once
+ * it has not changed for {@code settle-ms}, then moved to {@code done/} or {@code failed/}.
+ */
+@Component
+@ConditionalOnProperty(name = "nbastats.import.watch-dir")
+public class GameLogImportWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(GameLogImportWatcher.class);
+
+    private final GameLogImportService importService;
+    private final Path dir;
+    private final long settleMillis;
+
+    public GameLogImportWatcher(GameLogImportService importService,
+                                @Value("${nbastats.import.watch-dir}") String watchDir,
+                                @Value("${nbastats.import.settle-ms:2000}") long settleMillis) {
+        this.importService = importService;
+        this.dir = Path.of(watchDir);
+        this.settleMillis = settleMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${nbastats.import.poll-ms:10000}")
+    public void poll() {
+        if (!Files.isDirectory(dir)) return;
+        List<Path> ready;
+        long cutoff = System.currentTimeMillis() - settleMillis;
+        try (Stream<Path> files = Files.list(dir)) {
+            ready = files
+                .filter(Files::isRegularFile)
+                .filter(GameLogImportWatcher::isImportable)
+                .filter(f -> lastModified(f) < cutoff)
+                .sorted()
+                .toList();
+        } catch (IOException e) {
+            log.warn("Cannot list import dir {}: {}", dir, e.getMessage());
+            return;
+        }
+        for (Path file : ready) {
+            importFile(file);
+        }
+    }
+
+    private void importFile(Path file) {
+        String name = file.getFileName().toString();
+        String target;
+        try (InputStream in = Files.newInputStream(file)) {
+            GameLogImportResultDto r = importService.importGameLogs(in, GameLogImportService.formatOf(name), null);
+            log.info("Imported {}: {} rows read, {} inserted, {} updated, {} unchanged, {} skipped, {} unknown player ({} ms)",
+                name, r.rowsRead(), r.inserted(), r.updated(), r.unchanged(), r.rowsSkipped(), r.unknownPlayer(), r.elapsedMs());
+            target = "done";
+        } catch (Exception e) {
+            log.warn("Import of {} failed: {}", name, e.getMessage());
+            target = "failed";
+        }
+        try {
+            Path to = Files.createDirectories(dir.resolve(target));
+            Files.move(file, to.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Cannot move {} to {}/: {}", name, target, e.getMessage());
+        }
+    }
+
+    private static boolean isImportable(Path f) {
+        String n = f.getFileName().toString().toLowerCase(Locale.ROOT);
+        return n.endsWith(".json") || n.endsWith(".csv");
+    }
+
+    private static long lastModified(Path f) {
+        try {
+            return Files.getLastModifiedTime(f).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
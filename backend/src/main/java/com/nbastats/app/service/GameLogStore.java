@@ -0,0 +1,165 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.repository.GameLogJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-side cache of player-season game logs as {@link GameLogColumns}, loaded over plain JDBC.
+ * Entries are loaded lazily on first read, reloaded once older than the TTL, and evicted LRU past
+ * {@code max-entries} so heap use stays bounded (~17 KB per 82-game season, up to ~50 KB once its over/under
+ * windows and split cube are built; see {@link GameLogColumns#estimatedBytes()}).
+ * <p>
+ * Every eviction bumps a store-wide generation. A load only caches its result if the generation is unchanged
+ * once it returns, so a read that raced an invalidation cannot put pre-invalidation rows back for a full TTL.
+ */
+@Component
+public class GameLogStore {
+
+    private final GameLogJdbcRepository gameLogJdbcRepository;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final Map<Key, Entry> entries;
+
+    /** Bumped (under the {@code entries} lock) by every eviction; guarded by the same lock. */
+    private long generation;
+
+    public GameLogStore(GameLogJdbcRepository gameLogJdbcRepository,
+                        @Value("${nbastats.game-log-store.ttl-seconds:300}") long ttlSeconds,
+                        @Value("${nbastats.game-log-store.max-entries:1000}") int maxEntries) {
+        this.gameLogJdbcRepository = gameLogJdbcRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > GameLogStore.this.maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Columns for the player-season, newest game first. Never null; empty when the player has no games. An entry past
+     * its TTL is kept when its version still matches the DB (one aggregate query), so its memoized indexes survive.
+     */
+    public GameLogColumns get(Long playerId, String season) {
+        Key key = new Key(playerId, season);
+        Entry e = entries.get(key);
+        long now = System.currentTimeMillis();
+        if (e != null && now - e.loadedAt() < ttlMillis) {
+            return e.columns();
+        }
+        long gen = generation();
+        if (e != null && revalidate(key, e, gameLogJdbcRepository.findVersion(playerId, season), now, gen)) {
+            return e.columns();
+        }
+        GameLogColumns loaded = load(playerId, season);
+        putIfCurrent(key, new Entry(loaded, now), gen);
+        return loaded;
+    }
+
+    /**
+     * Version of the player-season for HTTP validators. Answered from the cached entry while its TTL runs (the
+     * entry is kept current by NOTIFY); otherwise one aggregate query, which also revalidates an expired entry.
+     */
+    public GameLogVersion version(Long playerId, String season) {
+        Key key = new Key(playerId, season);
+        Entry e = entries.get(key);
+        long now = System.currentTimeMillis();
+        if (e != null && now - e.loadedAt() < ttlMillis) {
+            return e.columns().version();
+        }
+        long gen = generation();
+        GameLogVersion current = gameLogJdbcRepository.findVersion(playerId, season);
+        if (e != null) revalidate(key, e, current, now, gen);
+        return current;
+    }
+
+    /** Current eviction generation; read it before a bulk load and pass it to {@link #putAll}. */
+    public long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Seed the store with columns a bulk path already loaded (e.g. a daily-lines batch). Skipped when anything was
+     * evicted since {@code loadedAtGeneration}, since the batch may predate that eviction.
+     */
+    public void putAll(Collection<GameLogColumns> columns, long loadedAtGeneration) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            if (generation != loadedAtGeneration) return;
+            for (GameLogColumns c : columns) {
+                entries.put(new Key(c.playerId(), c.season()), new Entry(c, now));
+            }
+        }
+    }
+
+    /** Drop every cached season for the player (e.g. after new game logs were ingested). */
+    public void invalidate(Long playerId) {
+        synchronized (entries) {
+            generation++;
+            entries.keySet().removeIf(k -> k.playerId() == playerId);
+        }
+    }
+
+    public void invalidate(Long playerId, String season) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(new Key(playerId, season));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** Sum of {@link GameLogColumns#estimatedBytes()} over cached entries. */
+    public long estimatedBytes() {
+        synchronized (entries) {
+            return entries.values().stream().mapToLong(e -> e.columns().estimatedBytes()).sum();
+        }
+    }
+
+    /** Restart the TTL of {@code e} if it still matches {@code current}, else drop it. True when it was kept. */
+    private boolean revalidate(Key key, Entry e, GameLogVersion current, long now, long loadedAtGeneration) {
+        synchronized (entries) {
+            if (generation != loadedAtGeneration || entries.get(key) != e) return false;
+            if (e.columns().version().equals(current)) {
+                entries.put(key, new Entry(e.columns(), now));
+                return true;
+            }
+            generation++;
+            entries.remove(key);
+            return false;
+        }
+    }
+
+    private void putIfCurrent(Key key, Entry entry, long loadedAtGeneration) {
+        synchronized (entries) {
+            if (generation == loadedAtGeneration) entries.put(key, entry);
+        }
+    }
+
+    private GameLogColumns load(Long playerId, String season) {
+        return gameLogJdbcRepository.findColumns(playerId, season);
+    }
+
+    private record Key(long playerId, String season) {}
+
+    private record Entry(GameLogColumns columns, long loadedAt) {}
+}
@@ -0,0 +1,22 @@
+package com.nbastats.app.service;
+
+import java.time.Instant;
+
+/**
+ * Cheap fingerprint of a player-season's game logs: row count plus latest updated_at (maintained by the
+ * player_game_logs_updated_at trigger). Any insert, update or delete changes it.
+ */
+public record GameLogVersion(long count, Instant lastModified) {
+
+    public static final GameLogVersion EMPTY = new GameLogVersion(0, null);
+
+    /** Entity tag for HTTP validators (unquoted; Spring adds the quotes). */
+    public String eTag() {
+        return count + "-" + (lastModified != null ? lastModified.toEpochMilli() : 0);
+    }
+
+    /** Epoch millis for Last-Modified, or -1 when there are no rows. */
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.toEpochMilli() : -1;
+    }
+}
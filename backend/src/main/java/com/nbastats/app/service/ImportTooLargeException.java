@@ -0,0 +1,13 @@
+package com.nbastats.app.service;
+
+import java.io.IOException;
+
+/** Thrown when a game-log upload exceeds {@code nbastats.import.max-bytes} while it is being spooled. */
+public class ImportTooLargeException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ImportTooLargeException(String message) {
+        super(message);
+    }
+}
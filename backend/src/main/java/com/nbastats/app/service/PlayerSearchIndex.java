@@ -0,0 +1,298 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.entity.Player;
+import com.nbastats.app.repository.PlayerRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process typeahead index over player names, so search never hits the players table.
+ * Names are normalized like {@code _normalize_for_search} in ingest.py (lowercase, accents stripped) and matched by
+ * token prefix and trigram overlap; results are ranked and capped. The index is rebuilt when the players table's
+ * row count or latest updated_at changes.
+ */
+@Component
+public class PlayerSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerSearchIndex.class);
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{Mn}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern JOINERS = Pattern.compile("['.]");
+
+    // Match tiers, best first. Trigram matches score below these, scaled by similarity.
+    private static final int EXACT = 1000;
+    private static final int NAME_PREFIX = 900;
+    private static final int TOKEN_PREFIX = 800;
+    private static final int SUBSTRING = 700;
+    private static final int FUZZY_MAX = 600;
+    private static final double MIN_SIMILARITY = 0.4;
+
+    private final PlayerRepository playerRepository;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public PlayerSearchIndex(PlayerRepository playerRepository) {
+        this.playerRepository = playerRepository;
+    }
+
+    /** Up to {@code limit} players ranked by match quality (exact, name prefix, token prefix, substring, fuzzy). */
+    @Timed(value = "nbastats.compute", extraTags = {"stage", "playerSearch"}, histogram = true)
+    public List<Player> search(String query, int limit) {
+        String q = normalize(query).trim();
+        if (q.isEmpty() || limit <= 0) return List.of();
+        Snapshot s = current();
+        int[] scores = score(s, q, true);
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, s.ranking(scores).reversed());
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] <= 0) continue;
+            top.add(i);
+            if (top.size() > limit) top.poll();
+        }
+        List<Player> out = new ArrayList<>(top.size());
+        while (!top.isEmpty()) out.add(s.players[top.poll()]);
+        Collections.reverse(out);
+        return out;
+    }
+
+    /**
+     * Best non-fuzzy match for a full name as typed in an admin slate (exact, prefix or substring, accent-insensitive),
+     * or null when nothing matches closely enough.
+     */
+    public Player bestMatch(String name) {
+        String q = normalize(name).trim();
+        if (q.isEmpty()) return null;
+        Snapshot s = current();
+        int[] scores = score(s, q, false);
+        Comparator<Integer> ranking = s.ranking(scores);
+        Integer best = null;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] <= 0) continue;
+            if (best == null || ranking.compare(i, best) < 0) best = i;
+        }
+        return best != null ? s.players[best] : null;
+    }
+
+    /** Rebuild if the players table changed since the last build. Also runs on a fixed delay. */
+    @Scheduled(fixedDelayString = "${nbastats.player-search.refresh-ms:60000}",
+               initialDelayString = "${nbastats.player-search.refresh-ms:60000}")
+    public void refreshIfChanged() {
+        Snapshot s = snapshot;
+        if (s == null) return; // built lazily on first search
+        try {
+            String version = loadVersion();
+            if (!version.equals(s.version)) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Player search index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /** Force a rebuild from the players table. */
+    public void rebuild() {
+        // A lock rather than synchronized: a virtual thread blocked on JDBC inside synchronized pins its carrier.
+        rebuildLock.lock();
+        try {
+            String version = loadVersion();
+            List<Player> players = playerRepository.findAll(Sort.by("fullName"));
+            snapshot = Snapshot.build(players, version);
+            log.info("Player search index built: {} players", players.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /** Lowercase and strip diacritics (Dončić -> doncic), matching ingest.py's _normalize_for_search. */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) return "";
+        String nfkd = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(nfkd).replaceAll("");
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            rebuildLock.lock();
+            try {
+                if (snapshot == null) rebuild();
+                s = snapshot;
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return s;
+    }
+
+    private String loadVersion() {
+        List<Object[]> rows = playerRepository.findCountAndMaxUpdatedAt();
+        Object[] row = rows.isEmpty() ? new Object[] { 0, null } : rows.get(0);
+        return row[0] + "|" + Objects.toString(row[1], "");
+    }
+
+    /** Score per player for a normalized query; 0 = no match. */
+    private static int[] score(Snapshot s, String q, boolean fuzzy) {
+        int[] scores = new int[s.players.length];
+        String[] qTokens = tokens(q);
+
+        // Token prefix: every query token must prefix some name token.
+        if (qTokens.length > 0) {
+            int[] matchedTokens = new int[s.players.length];
+            for (int t = 0; t < qTokens.length; t++) {
+                String qt = qTokens[t];
+                int from = lowerBound(s.tokens, qt);
+                for (int k = from; k < s.tokens.length && s.tokens[k].startsWith(qt); k++) {
+                    int p = s.tokenOwner[k];
+                    if (matchedTokens[p] == t) matchedTokens[p] = t + 1; // count each query token once per player
+                }
+            }
+            for (int p = 0; p < scores.length; p++) {
+                if (matchedTokens[p] == qTokens.length) {
+                    String name = s.names[p];
+                    if (name.equals(q)) scores[p] = EXACT;
+                    else if (name.startsWith(q)) scores[p] = NAME_PREFIX;
+                    else scores[p] = TOKEN_PREFIX;
+                }
+            }
+        }
+
+        // One or two characters have no interior trigram, so the postings would only find them at word edges.
+        // Scan instead, like the ILIKE '%q%' this replaced; too short to rank typos, so no fuzzy tier.
+        if (q.length() < 3) {
+            for (int p = 0; p < scores.length; p++) {
+                if (scores[p] == 0 && s.names[p].contains(q)) scores[p] = SUBSTRING;
+            }
+            return scores;
+        }
+
+        // Trigram overlap narrows candidates for substring matches; the rest rank by similarity.
+        long[] qGrams = trigrams(q);
+        if (qGrams.length == 0) return scores;
+        int[] shared = new int[s.players.length];
+        for (long g : qGrams) {
+            int[] postings = s.trigrams.get(g);
+            if (postings == null) continue;
+            for (int p : postings) shared[p]++;
+        }
+        for (int p = 0; p < scores.length; p++) {
+            if (shared[p] == 0 || scores[p] > 0) continue;
+            if (s.names[p].contains(q)) {
+                scores[p] = SUBSTRING;
+            } else if (fuzzy) {
+                double similarity = shared[p] / (double) Math.max(qGrams.length, s.trigramCounts[p]);
+                if (similarity >= MIN_SIMILARITY) scores[p] = (int) (FUZZY_MAX * similarity);
+            }
+        }
+        return scores;
+    }
+
+    private static String[] tokens(String normalized) {
+        String compact = NON_ALNUM.matcher(JOINERS.matcher(normalized).replaceAll("")).replaceAll(" ").trim();
+        return compact.isEmpty() ? new String[0] : compact.split(" ");
+    }
+
+    /** Distinct trigrams of " name " (space-padded, non-alphanumerics collapsed), packed as three 16-bit chars. */
+    private static long[] trigrams(String normalized) {
+        String padded = " " + NON_ALNUM.matcher(normalized).replaceAll(" ").trim() + " ";
+        if (padded.length() < 3 || padded.isBlank()) return new long[0];
+        long[] grams = new long[padded.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Immutable build of the index; swapped atomically on rebuild. */
+    private static final class Snapshot {
+        final String version;
+        final Player[] players;      // ordered by full_name
+        final String[] names;        // normalized full names
+        final String[] tokens;       // all name tokens, sorted
+        final int[] tokenOwner;      // player index per entry in tokens
+        final Map<Long, int[]> trigrams;
+        final int[] trigramCounts;   // distinct trigrams per player
+
+        private Snapshot(String version, Player[] players, String[] names, String[] tokens, int[] tokenOwner,
+                         Map<Long, int[]> trigrams, int[] trigramCounts) {
+            this.version = version;
+            this.players = players;
+            this.names = names;
+            this.tokens = tokens;
+            this.tokenOwner = tokenOwner;
+            this.trigrams = trigrams;
+            this.trigramCounts = trigramCounts;
+        }
+
+        static Snapshot build(List<Player> list, String version) {
+            int n = list.size();
+            Player[] players = list.toArray(new Player[0]);
+            String[] names = new String[n];
+            List<String> tokenList = new ArrayList<>();
+            List<Integer> ownerList = new ArrayList<>();
+            Map<Long, List<Integer>> grams = new HashMap<>();
+            int[] trigramCounts = new int[n];
+            for (int p = 0; p < n; p++) {
+                names[p] = normalize(players[p].getFullName()).trim();
+                for (String t : tokens(names[p])) {
+                    tokenList.add(t);
+                    ownerList.add(p);
+                }
+                long[] g = trigrams(names[p]);
+                trigramCounts[p] = g.length;
+                for (long gram : g) {
+                    grams.computeIfAbsent(gram, k -> new ArrayList<>()).add(p);
+                }
+            }
+            Integer[] order = new Integer[tokenList.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparing(tokenList::get));
+            String[] tokens = new String[order.length];
+            int[] tokenOwner = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                tokens[i] = tokenList.get(order[i]);
+                tokenOwner[i] = ownerList.get(order[i]);
+            }
+            Map<Long, int[]> trigrams = new HashMap<>(grams.size() * 2);
+            grams.forEach((k, v) -> trigrams.put(k, v.stream().mapToInt(Integer::intValue).toArray()));
+            return new Snapshot(version, players, names, tokens, tokenOwner, trigrams, trigramCounts);
+        }
+
+        /** Best first: higher score, active players, shorter name, then alphabetical (index order). */
+        Comparator<Integer> ranking(int[] scores) {
+            return Comparator.<Integer>comparingInt(i -> -scores[i])
+                .thenComparing(i -> !Boolean.TRUE.equals(players[i].getIsActive()))
+                .thenComparingInt(i -> names[i].length())
+                .thenComparingInt(i -> i);
+        }
+    }
+}
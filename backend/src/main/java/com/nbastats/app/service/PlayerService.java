@@ -1,25 +1,46 @@
 package com.nbastats.app.service;
 
+import com.nbastats.app.dto.GameLogColumnarDto;
 import com.nbastats.app.dto.GameLogDto;
+import com.nbastats.app.dto.GameLogPageDto;
 import com.nbastats.app.dto.OverUnderDto;
+import com.nbastats.app.dto.OverUnderLadderDto;
+import com.nbastats.app.dto.OverUnderRungDto;
 import com.nbastats.app.dto.PropPickSuggestionDto;
+import com.nbastats.app.dto.PropProfileDto;
 import com.nbastats.app.dto.SeasonStatsDto;
+import com.nbastats.app.dto.SplitRowDto;
+import com.nbastats.app.dto.SplitStatDto;
+import com.nbastats.app.dto.SplitsDto;
+import com.nbastats.app.dto.StatProfileDto;
+import com.nbastats.app.dto.TrendStatDto;
+import com.nbastats.app.dto.TrendWindowDto;
+import com.nbastats.app.dto.TrendsDto;
 import com.nbastats.app.entity.Player;
-import com.nbastats.app.entity.PlayerGameLog;
-import com.nbastats.app.repository.PlayerGameLogRepository;
+import com.nbastats.app.entity.PlayerSeasonStats;
+import com.nbastats.app.repository.GameLogJdbcRepository;
 import com.nbastats.app.repository.PlayerRepository;
+import com.nbastats.app.repository.PlayerSeasonStatsRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class PlayerService {
 
     private final PlayerRepository playerRepository;
-    private final PlayerGameLogRepository gameLogRepository;
+    private final PlayerSeasonStatsRepository seasonStatsRepository;
+    private final GameLogStore gameLogStore;
+    private final GameLogJdbcRepository gameLogJdbcRepository;
+    private final PlayerSearchIndex playerSearchIndex;
 
     private static final List<String> ALLOWED_STATS = List.of(
         "pts", "reb", "ast", "fg3m", "stl", "blk", "tov", "min_played",
@@ -41,112 +62,350 @@ public class PlayerService {
         java.util.Map.entry("pts_reb_ast", "Pts+Reb+Ast")
     );
 
-    public PlayerService(PlayerRepository playerRepository, PlayerGameLogRepository gameLogRepository) {
+    public PlayerService(PlayerRepository playerRepository, PlayerSeasonStatsRepository seasonStatsRepository,
+                         GameLogStore gameLogStore, GameLogJdbcRepository gameLogJdbcRepository,
+                         PlayerSearchIndex playerSearchIndex) {
         this.playerRepository = playerRepository;
-        this.gameLogRepository = gameLogRepository;
+        this.seasonStatsRepository = seasonStatsRepository;
+        this.gameLogStore = gameLogStore;
+        this.gameLogJdbcRepository = gameLogJdbcRepository;
+        this.playerSearchIndex = playerSearchIndex;
     }
 
-    public List<Player> searchByName(String q) {
+    /** Ranked typeahead matches from the in-memory index (no DB round trip), at most {@code limit}. */
+    public List<Player> searchByName(String q, int limit) {
         if (q == null || q.isBlank()) {
             return List.of();
         }
-        return playerRepository.searchByName(q.trim());
+        return playerSearchIndex.search(q.trim(), limit);
     }
 
     public Player getById(Long id) {
         return playerRepository.findById(id).orElse(null);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Current version of a player-season's game logs. Served from the store's cached entry while it is fresh, so a warm
+     * read never touches the DB; a miss or an expired entry costs one aggregate query.
+     */
+    public GameLogVersion getGameLogVersion(Long playerId, String season) {
+        return gameLogStore.version(playerId, season);
+    }
+
     public List<GameLogDto> getGameLog(Long playerId, String season) {
-        List<PlayerGameLog> logs = gameLogRepository.findByPlayer_IdAndSeasonOrderByGameDateDesc(playerId, season);
-        return logs.stream().map(GameLogDto::from).collect(Collectors.toList());
+        return gameLogStore.get(playerId, season).toDtos();
     }
 
-    @Transactional(readOnly = true)
+    /** The season's game log with only {@code fields}, one map per game (newest first). */
+    public List<Map<String, Object>> getGameLogRows(Long playerId, String season, List<GameLogField> fields) {
+        GameLogColumns cols = gameLogStore.get(playerId, season);
+        List<Map<String, Object>> out = new ArrayList<>(cols.size());
+        for (int i = 0; i < cols.size(); i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (GameLogField f : fields) row.put(f.key(), cols.value(f, i));
+            out.add(row);
+        }
+        return out;
+    }
+
+    /**
+     * The season's game log as one array per field. Served straight from the store's columns: numeric fields are
+     * the cached arrays themselves, so the response costs no per-game objects.
+     */
+    public GameLogColumnarDto getGameLogColumnar(Long playerId, String season, List<GameLogField> fields) {
+        GameLogColumns cols = gameLogStore.get(playerId, season);
+        Map<String, Object> columns = new LinkedHashMap<>();
+        List<String> keys = new ArrayList<>(fields.size());
+        for (GameLogField f : fields) {
+            keys.add(f.key());
+            columns.put(f.key(), cols.column(f));
+        }
+        return new GameLogColumnarDto(playerId, season, cols.size(), keys, columns);
+    }
+
+    /**
+     * One page of a player's game log across seasons (all seasons when {@code seasons} is empty), newest first,
+     * continuing after {@code after} (null = first page). Reads one row past {@code limit} to tell whether
+     * there is a next page.
+     */
+    public GameLogPageDto getGameLogPage(Long playerId, List<String> seasons, GameLogCursor after, int limit) {
+        List<GameLogDto> rows = gameLogJdbcRepository.findPage(playerId, seasons, after, limit + 1);
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            GameLogDto last = rows.get(limit - 1);
+            next = new GameLogCursor(last.gameDate(), last.id()).encode();
+        }
+        return new GameLogPageDto(playerId, rows, next);
+    }
+
+    /**
+     * Season averages from the trigger-maintained player_season_stats row, or from the game log when the
+     * player-season has no row (or no games) yet. Requires the current database/schema.sql: the entity maps the
+     * {@code *_sum} columns, and rows are only kept current by its trigger.
+     */
     public SeasonStatsDto getSeasonStats(Long playerId, String season) {
-        List<PlayerGameLog> logs = gameLogRepository.findByPlayer_IdAndSeasonOrderByGameDateDesc(playerId, season);
-        if (logs.isEmpty()) {
+        Optional<PlayerSeasonStats> row = seasonStatsRepository.findByPlayer_IdAndSeason(playerId, season);
+        if (row.isPresent() && row.get().getGamesPlayed() > 0) {
+            return SeasonStatsDto.from(row.get());
+        }
+        GameLogColumns cols = gameLogStore.get(playerId, season);
+        if (cols.isEmpty()) {
             return new SeasonStatsDto(season, 0, 0, 0, 0, 0, 0, 0);
         }
-        int n = logs.size();
-        double pts = logs.stream().mapToInt(PlayerGameLog::getPts).sum() / (double) n;
-        double reb = logs.stream().mapToInt(PlayerGameLog::getReb).sum() / (double) n;
-        double ast = logs.stream().mapToInt(PlayerGameLog::getAst).sum() / (double) n;
-        double stl = logs.stream().mapToInt(PlayerGameLog::getStl).sum() / (double) n;
-        double blk = logs.stream().mapToInt(PlayerGameLog::getBlk).sum() / (double) n;
-        double tov = logs.stream().mapToInt(PlayerGameLog::getTov).sum() / (double) n;
+        int n = cols.size();
+        double pts = sum(cols.stat("pts"), n) / (double) n;
+        double reb = sum(cols.stat("reb"), n) / (double) n;
+        double ast = sum(cols.stat("ast"), n) / (double) n;
+        double stl = sum(cols.stat("stl"), n) / (double) n;
+        double blk = sum(cols.stat("blk"), n) / (double) n;
+        double tov = sum(cols.stat("tov"), n) / (double) n;
         return new SeasonStatsDto(season, n, pts, reb, ast, stl, blk, tov);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Season averages for several players from one grouped SQL aggregate, keyed by player id in request order.
+     * Players without games in the season get a zero row, same as {@link #getSeasonStats}.
+     */
+    public Map<Long, SeasonStatsDto> getSeasonStatsBatch(List<Long> playerIds, String season) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Long id : playerIds) {
+            if (id != null) ids.add(id);
+        }
+        Map<Long, SeasonStatsDto> found = gameLogJdbcRepository.findSeasonStatsByPlayerIds(ids, season);
+        Map<Long, SeasonStatsDto> out = new LinkedHashMap<>();
+        for (Long id : ids) {
+            out.put(id, found.getOrDefault(id, new SeasonStatsDto(season, 0, 0, 0, 0, 0, 0, 0)));
+        }
+        return out;
+    }
+
+    @Timed(value = "nbastats.compute", extraTags = {"stage", "overUnder"}, histogram = true)
     public OverUnderDto getOverUnder(Long playerId, String season, String stat, double threshold, Integer lastN) {
         String safeStat = ALLOWED_STATS.contains(stat) ? stat : "pts";
-        List<PlayerGameLog> logs = gameLogRepository.findByPlayer_IdAndSeasonOrderByGameDateDesc(playerId, season);
+        GameLogColumns cols = gameLogStore.get(playerId, season);
+        int total = cols.size();
         if (lastN != null && lastN > 0) {
-            logs = logs.stream().limit(lastN).toList();
+            total = Math.min(lastN, total);
         }
-        if (logs.isEmpty()) {
+        if (total == 0) {
             return new OverUnderDto(safeStat, threshold, 0, 0, 0, 0.0, 0.0, lastN);
         }
-        List<Number> values = logs.stream()
-            .map(g -> getStatValue(g, safeStat))
-            .toList();
-        int total = values.size();
-        long over = values.stream()
-            .filter(v -> v != null && v.doubleValue() >= threshold)
-            .count();
-        int under = total - (int) over;
-        double probOver = total > 0 ? (double) over / total : 0.0;
-        double probUnder = total > 0 ? (double) under / total : 0.0;
-        return new OverUnderDto(safeStat, threshold, total, (int) over, under, probOver, probUnder, lastN);
+        int over = cols.countAtOrAbove(safeStat, total, threshold);
+        int under = total - over;
+        double probOver = (double) over / total;
+        double probUnder = (double) under / total;
+        return new OverUnderDto(safeStat, threshold, total, over, under, probOver, probUnder, lastN);
+    }
+
+    /**
+     * Hit-rate curve for every half-point line across the observed range, from one histogram of the (last N) games.
+     * Rung {@code j} is line {@code lo + j - 0.5}; its over count is the histogram's suffix sum from {@code lo + j}.
+     */
+    @Timed(value = "nbastats.compute", extraTags = {"stage", "overUnderLadder"}, histogram = true)
+    public OverUnderLadderDto getOverUnderLadder(Long playerId, String season, String stat, Integer lastN) {
+        String safeStat = ALLOWED_STATS.contains(stat) ? stat : "pts";
+        GameLogColumns cols = gameLogStore.get(playerId, season);
+        int total = cols.size();
+        if (lastN != null && lastN > 0) {
+            total = Math.min(lastN, total);
+        }
+        if (total == 0) {
+            return new OverUnderLadderDto(safeStat, 0, lastN, null, null, List.of());
+        }
+        int[] values = cols.stat(safeStat);
+        int min = values[0];
+        int max = values[0];
+        for (int i = 1; i < total; i++) {
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+        }
+        int[] atOrAbove = new int[max - min + 2]; // histogram, then suffix sums in place
+        for (int i = 0; i < total; i++) {
+            atOrAbove[values[i] - min]++;
+        }
+        for (int v = atOrAbove.length - 2; v >= 0; v--) {
+            atOrAbove[v] += atOrAbove[v + 1];
+        }
+        // Lowest rung: everything is over. Never below 0.5 (a 0 line is not offered).
+        int lo = Math.max(min, 1);
+        List<OverUnderRungDto> rungs = new ArrayList<>(max - lo + 2);
+        for (int v = lo; v <= max + 1; v++) {
+            int over = atOrAbove[v - min];
+            int under = total - over;
+            rungs.add(new OverUnderRungDto(v - 0.5, over, under, (double) over / total, (double) under / total));
+        }
+        return new OverUnderLadderDto(safeStat, total, lastN, min, max, rungs);
     }
 
-    @Transactional(readOnly = true)
     public List<PropPickSuggestionDto> getPropPickSuggestions(Long playerId, String season,
                                                               Double ptsRebAstLine, Double ptsAstLine, Double rebAstLine) {
-        List<PlayerGameLog> logs = gameLogRepository.findByPlayer_IdAndSeasonOrderByGameDateDesc(playerId, season);
-        if (logs.size() < 10) {
+        GameLogColumns cols = gameLogStore.get(playerId, season);
+        if (cols.size() < 10) {
             return List.of();
         }
-        logs = logs.stream().limit(10).toList();
         List<PropPickSuggestionDto> out = new ArrayList<>();
         if (ptsRebAstLine != null) {
-            out.add(buildPropSuggestion(logs, "pts_reb_ast", "Pts+Reb+Ast", ptsRebAstLine));
+            out.add(buildPropSuggestion(cols.stat("pts_reb_ast"), 10, "pts_reb_ast", "Pts+Reb+Ast", ptsRebAstLine));
         }
         if (ptsAstLine != null) {
-            out.add(buildPropSuggestion(logs, "pts_ast", "Pts+Ast", ptsAstLine));
+            out.add(buildPropSuggestion(cols.stat("pts_ast"), 10, "pts_ast", "Pts+Ast", ptsAstLine));
         }
         if (rebAstLine != null) {
-            out.add(buildPropSuggestion(logs, "reb_ast", "Reb+Ast", rebAstLine));
+            out.add(buildPropSuggestion(cols.stat("reb_ast"), 10, "reb_ast", "Reb+Ast", rebAstLine));
         }
         return out;
     }
 
-    @Transactional(readOnly = true)
     public PropPickSuggestionDto getSinglePropSuggestion(Long playerId, String season, String statKey, double lineValue) {
+        return getSinglePropSuggestion(gameLogStore.get(playerId, season), statKey, lineValue);
+    }
+
+    /** Same as {@link #getSinglePropSuggestion(Long, String, String, double)} for columns the caller already has. */
+    public PropPickSuggestionDto getSinglePropSuggestion(GameLogColumns cols, String statKey, double lineValue) {
+        return getSinglePropSuggestion(cols, statKey, lineValue, null);
+    }
+
+    /**
+     * Suggestion as it would have been made on {@code asOf}: only games strictly before that date count, so the
+     * last-10, last-5 and season-to-date windows start at the newest earlier game (binary search on the timeline).
+     * {@code asOf} null = every game in {@code cols}.
+     */
+    @Timed(value = "nbastats.compute", extraTags = {"stage", "propSuggestion"}, histogram = true)
+    public PropPickSuggestionDto getSinglePropSuggestion(GameLogColumns cols, String statKey, double lineValue,
+                                                         LocalDate asOf) {
         String safeStat = ALLOWED_STATS.contains(statKey) ? statKey : "pts";
         String label = STAT_LABELS.getOrDefault(safeStat, safeStat);
-        List<PlayerGameLog> allLogs = gameLogRepository.findByPlayer_IdAndSeasonOrderByGameDateDesc(playerId, season);
-        if (allLogs.size() < 10) {
+        int from = asOf != null ? cols.gamesOnOrAfter(asOf) : 0;
+        int seasonTotal = cols.size() - from;
+        if (seasonTotal < 10) {
             return null;
         }
-        List<PlayerGameLog> logs = allLogs.stream().limit(10).toList();
+        int[] values = cols.stat(safeStat);
 
-        int seasonHits = (int) allLogs.stream()
-            .filter(g -> getStatValue(g, safeStat).doubleValue() >= lineValue)
-            .count();
-        int seasonTotal = allLogs.size();
+        int seasonHits = from == 0
+            ? cols.countAtOrAbove(safeStat, seasonTotal, lineValue)
+            : countAtOrAbove(values, from, cols.size(), lineValue);
 
         Double seasonAvg3pm = null;
         Double season3pPct = null;
         if ("fg3m".equals(safeStat)) {
-            int seasonFg3m = allLogs.stream().mapToInt(g -> g.getFg3m() != null ? g.getFg3m() : 0).sum();
-            int seasonFg3a = allLogs.stream().mapToInt(g -> g.getFg3a() != null ? g.getFg3a() : 0).sum();
-            seasonAvg3pm = (double) seasonFg3m / allLogs.size();
+            int seasonFg3m = sum(values, from, cols.size());
+            int seasonFg3a = sum(cols.fg3a(), from, cols.size());
+            seasonAvg3pm = (double) seasonFg3m / seasonTotal;
             season3pPct = seasonFg3a > 0 ? (double) seasonFg3m / seasonFg3a : null;
         }
-        return buildPropSuggestion(logs, safeStat, label, lineValue, seasonAvg3pm, season3pPct, seasonHits, seasonTotal);
+        return buildPropSuggestion(values, from, 10, safeStat, label, lineValue, seasonAvg3pm, season3pPct,
+            seasonHits, seasonTotal);
+    }
+
+    /**
+     * Splits of a player-season by opponent, venue, rest and result. {@code filters} holds a bucket index per
+     * {@link SplitCube#DIMENSIONS} entry (-1 = any); {@code by} (nullable) is the dimension to break down along.
+     * Served from the season's memoized {@link SplitCube}; hit counts for each stat with a line in {@code lines}.
+     */
+    @Timed(value = "nbastats.compute", extraTags = {"stage", "splits"}, histogram = true)
+    public SplitsDto getSplits(Long playerId, String season, int[] filters, String by, Map<String, Double> lines) {
+        GameLogColumns cols = gameLogStore.get(playerId, season);
+        SplitCube cube = cols.splits();
+        List<SplitRowDto> rows = new ArrayList<>();
+        if (by == null) {
+            rows.add(splitRow("all", cube, cube.slice(filters[0], filters[1], filters[2], filters[3]), lines));
+        } else {
+            int d = SplitCube.DIMENSIONS.indexOf(by);
+            if (filters[d] >= 0) throw new IllegalArgumentException("Cannot filter and break down by " + by);
+            int[] f = filters.clone();
+            for (int b = 0; b < SplitCube.size(by); b++) {
+                f[d] = b;
+                SplitCube.Slice slice = cube.slice(f[0], f[1], f[2], f[3]);
+                if (slice.games() > 0) rows.add(splitRow(SplitCube.label(by, b), cube, slice, lines));
+            }
+        }
+        return new SplitsDto(playerId, season, cols.size(),
+            filterLabel("opponent", filters[0]), filterLabel("venue", filters[1]),
+            filterLabel("rest", filters[2]), filterLabel("result", filters[3]), by, rows);
+    }
+
+    /** {@link #getGameLogVersion(Long, String)} for a multi-season span (one aggregate over all of them). */
+    public GameLogVersion getGameLogVersion(Long playerId, List<String> seasons) {
+        return seasons.size() == 1
+            ? getGameLogVersion(playerId, seasons.get(0))
+            : gameLogJdbcRepository.findVersion(playerId, seasons);
+    }
+
+    /**
+     * Per-game values and rolling mean / standard deviation for each stat key and window size, oldest game first.
+     * One season is served from the store; a multi-season span is read in a single query. Each series is one pass
+     * with running sums: a game enters the window as it is reached and the game {@code window} positions back
+     * leaves it, so the cost is O(games) per (stat, window) whatever the window size.
+     */
+    @Timed(value = "nbastats.compute", extraTags = {"stage", "trends"}, histogram = true)
+    public TrendsDto getTrends(Long playerId, List<String> seasons, List<String> stats, List<Integer> windows) {
+        GameLogColumns cols = seasons.size() == 1
+            ? gameLogStore.get(playerId, seasons.get(0))
+            : gameLogJdbcRepository.findColumnsBySeasons(playerId, seasons);
+        int n = cols.size();
+        int[] dates = cols.gameDates();
+        String[] opponents = cols.opponentAbbr();
+        List<LocalDate> chronoDates = new ArrayList<>(n);
+        List<String> chronoOpponents = new ArrayList<>(n);
+        for (int i = n - 1; i >= 0; i--) {
+            chronoDates.add(LocalDate.ofEpochDay(dates[i]));
+            chronoOpponents.add(opponents[i]);
+        }
+        List<TrendStatDto> out = new ArrayList<>(stats.size());
+        for (String stat : stats) {
+            int[] newestFirst = cols.stat(stat);
+            int[] values = new int[n];
+            for (int t = 0; t < n; t++) values[t] = newestFirst[n - 1 - t];
+            List<TrendWindowDto> series = new ArrayList<>(windows.size());
+            for (int window : windows) series.add(rolling(values, window));
+            out.add(new TrendStatDto(stat, STAT_LABELS.getOrDefault(stat, stat), values, series));
+        }
+        return new TrendsDto(playerId, seasons, n, chronoDates, chronoOpponents, out);
+    }
+
+    /**
+     * Rolling mean and population standard deviation over {@code values} (oldest first). Sums are exact longs, so
+     * adding the entering game and subtracting the leaving one never drifts; null until {@code window} games.
+     */
+    static TrendWindowDto rolling(int[] values, int window) {
+        int n = values.length;
+        Double[] mean = new Double[n];
+        Double[] sd = new Double[n];
+        long sum = 0;
+        long sumSq = 0;
+        for (int t = 0; t < n; t++) {
+            int in = values[t];
+            sum += in;
+            sumSq += (long) in * in;
+            if (t >= window) {
+                int out = values[t - window];
+                sum -= out;
+                sumSq -= (long) out * out;
+            }
+            if (t >= window - 1) {
+                mean[t] = Math.round(sum * 100.0 / window) / 100.0;
+                sd[t] = Math.round(stdDev(window, sum, sumSq) * 100) / 100.0;
+            }
+        }
+        return new TrendWindowDto(window, mean, sd);
+    }
+
+    private static SplitRowDto splitRow(String key, SplitCube cube, SplitCube.Slice slice, Map<String, Double> lines) {
+        List<SplitStatDto> stats = new ArrayList<>(ALLOWED_STATS.size());
+        for (int s = 0; s < ALLOWED_STATS.size(); s++) {
+            String stat = ALLOWED_STATS.get(s);
+            double avg = slice.games() > 0 ? (double) slice.sum(s) / slice.games() : 0.0;
+            Double line = lines.get(stat);
+            stats.add(new SplitStatDto(stat, STAT_LABELS.getOrDefault(stat, stat), Math.round(avg * 10) / 10.0,
+                line, line != null ? cube.hits(slice, stat, line) : null));
+        }
+        return new SplitRowDto(key, slice.games(), stats);
+    }
+
+    private static String filterLabel(String dimension, int index) {
+        return index >= 0 ? SplitCube.label(dimension, index) : null;
     }
 
     public static String getStatLabel(String statKey) {
@@ -157,28 +416,41 @@ public class PlayerService {
         return ALLOWED_STATS;
     }
 
-    private PropPickSuggestionDto buildPropSuggestion(List<PlayerGameLog> logs, String statKey, String propLabel, double line) {
-        return buildPropSuggestion(logs, statKey, propLabel, line, null, null, 0, 0);
+    static PropPickSuggestionDto buildPropSuggestion(int[] values, int n, String statKey, String propLabel, double line) {
+        return buildPropSuggestion(values, n, statKey, propLabel, line, null, null, 0, 0);
     }
 
-    private PropPickSuggestionDto buildPropSuggestion(List<PlayerGameLog> logs, String statKey, String propLabel, double line,
+    /** Suggestion from the first {@code n} (newest) entries of a stat column. Package-private for the JMH benchmarks. */
+    static PropPickSuggestionDto buildPropSuggestion(int[] values, int n, String statKey, String propLabel, double line,
                                                       Double seasonAvg3pm, Double season3pPct,
                                                       int seasonHits, int seasonTotal) {
-        List<Double> values = logs.stream()
-            .map(g -> getStatValue(g, statKey).doubleValue())
-            .toList();
-        int n = values.size();
-        int n5 = Math.min(5, n);
-        double last10Avg = values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-        double last5Avg = values.stream().limit(5).mapToDouble(Double::doubleValue).average().orElse(0);
-        int hit10 = (int) values.stream().filter(v -> v >= line).count();
-        int over5 = (int) values.stream().limit(5).filter(v -> v >= line).count();
-        double stdDev = stdDev(values);
-        boolean highVariance = n > 1 && stdDev > 0.3 * last10Avg;
-        double maxLast5 = values.stream().limit(5).mapToDouble(Double::doubleValue).max().orElse(0);
-        boolean oneBigGame = n5 >= 3 && maxLast5 > last5Avg + 2 * stdDev(values.stream().limit(5).toList());
-        String varianceNote = oneBigGame ? "One big game in last 5 — tread carefully"
-            : (highVariance ? "High variance" : "Consistent");
+        return buildPropSuggestion(values, 0, n, statKey, propLabel, line, seasonAvg3pm, season3pPct, seasonHits, seasonTotal);
+    }
+
+    /** Suggestion from the {@code n} entries starting at index {@code from} (the newest game before an as-of date). */
+    static PropPickSuggestionDto buildPropSuggestion(int[] values, int from, int n, String statKey, String propLabel,
+                                                      double line, Double seasonAvg3pm, Double season3pPct,
+                                                      int seasonHits, int seasonTotal) {
+        RecentWindow w = new RecentWindow();
+        for (int i = 0; i < n; i++) {
+            w.add(i, values[from + i], values[from + i] >= line);
+        }
+        return suggest(w, statKey, propLabel, line, seasonAvg3pm, season3pPct, seasonHits, seasonTotal);
+    }
+
+    /**
+     * The prop-pick rules: direction from the last-10 hit count, confidence from hit rate, variance and recent form,
+     * plus the fg3m season-average hot take. {@code w} must hold the newest (up to) 10 games.
+     */
+    static PropPickSuggestionDto suggest(RecentWindow w, String statKey, String propLabel, double line,
+                                         Double seasonAvg3pm, Double season3pPct, int seasonHits, int seasonTotal) {
+        double last10Avg = w.last10Avg();
+        double last5Avg = w.last5Avg();
+        int hit10 = w.hits10;
+        int over5 = w.hits5;
+        boolean highVariance = w.highVariance();
+        boolean oneBigGame = w.oneBigGame();
+        String varianceNote = w.varianceNote();
 
         boolean hasSeasonData = seasonTotal >= 10;
         double seasonHitRate = hasSeasonData ? (double) seasonHits / seasonTotal : 0.0;
@@ -255,30 +527,179 @@ public class PlayerService {
             hit10, over5, varianceNote);
     }
 
-    private double stdDev(List<Double> values) {
-        if (values.size() < 2) return 0;
-        double mean = values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-        double variance = values.stream().mapToDouble(v -> Math.pow(v - mean, 2)).sum() / values.size();
-        return Math.sqrt(variance);
-    }
-
-    private Number getStatValue(PlayerGameLog g, String stat) {
-        Integer minPlayed = g.getMinPlayed();
-        int min = (minPlayed != null) ? minPlayed : 0;
-        return switch (stat) {
-            case "pts" -> g.getPts();
-            case "reb" -> g.getReb();
-            case "ast" -> g.getAst();
-            case "fg3m" -> g.getFg3m() != null ? g.getFg3m() : 0;
-            case "stl" -> g.getStl();
-            case "blk" -> g.getBlk();
-            case "tov" -> g.getTov();
-            case "min_played" -> min;
-            case "pts_reb" -> g.getPts() + g.getReb();
-            case "pts_ast" -> g.getPts() + g.getAst();
-            case "reb_ast" -> g.getReb() + g.getAst();
-            case "pts_reb_ast" -> g.getPts() + g.getReb() + g.getAst();
-            default -> g.getPts();
-        };
+    /**
+     * Prop profile for all allowed stats, reading each stat column once. {@code lines} maps stat key to line;
+     * keys without a line get averages and variance only. No per-game allocation: the newest 10 games feed a
+     * {@link RecentWindow}, the rest only a running sum and hit count.
+     */
+    @Timed(value = "nbastats.compute", extraTags = {"stage", "propProfile"}, histogram = true)
+    public PropProfileDto getPropProfile(Long playerId, String season, Map<String, Double> lines) {
+        GameLogColumns cols = gameLogStore.get(playerId, season);
+        int n = cols.size();
+        int k = ALLOWED_STATS.size();
+        double[] lineFor = new double[k];
+        long[] seasonSum = new long[k];
+        int[] seasonHits = new int[k];
+        RecentWindow[] recent = new RecentWindow[k];
+        for (int s = 0; s < k; s++) {
+            String key = ALLOWED_STATS.get(s);
+            Double line = lines.get(key);
+            lineFor[s] = line != null ? line : Double.NaN;
+            // Stats are integers, so value >= line exactly when value >= ceil(line).
+            int threshold = line != null ? (int) Math.ceil(line) : Integer.MAX_VALUE;
+            int[] values = cols.stat(key);
+            RecentWindow w = new RecentWindow();
+            long sum = 0;
+            int hits = 0;
+            int i = 0;
+            for (int window = Math.min(RecentWindow.SIZE, n); i < window; i++) {
+                int x = values[i];
+                boolean hit = x >= threshold;
+                w.add(i, x, hit);
+                sum += x;
+                if (hit) hits++;
+            }
+            for (; i < n; i++) {
+                int x = values[i];
+                sum += x;
+                hits += x >= threshold ? 1 : 0;
+            }
+            recent[s] = w;
+            seasonSum[s] = sum;
+            seasonHits[s] = hits;
+        }
+
+        Double seasonAvg3pm = null;
+        Double season3pPct = null;
+        if (n > 0) {
+            long fg3m = seasonSum[ALLOWED_STATS.indexOf("fg3m")];
+            int fg3a = sum(cols.fg3a(), n);
+            seasonAvg3pm = (double) fg3m / n;
+            season3pPct = fg3a > 0 ? (double) fg3m / fg3a : null;
+        }
+
+        List<StatProfileDto> stats = new ArrayList<>(k);
+        for (int s = 0; s < k; s++) {
+            String key = ALLOWED_STATS.get(s);
+            String label = STAT_LABELS.getOrDefault(key, key);
+            RecentWindow w = recent[s];
+            boolean hasLine = !Double.isNaN(lineFor[s]);
+            PropPickSuggestionDto suggestion = null;
+            if (hasLine && n >= 10) {
+                suggestion = suggest(w, key, label, lineFor[s],
+                    "fg3m".equals(key) ? seasonAvg3pm : null, "fg3m".equals(key) ? season3pPct : null,
+                    seasonHits[s], n);
+            }
+            stats.add(new StatProfileDto(key, label,
+                n > 0 ? seasonSum[s] / (double) n : 0, w.last10Avg(), w.last5Avg(), w.stdDev10(),
+                w.highVariance(), w.oneBigGame(), w.varianceNote(),
+                hasLine ? lineFor[s] : null,
+                hasLine ? seasonHits[s] : null,
+                hasLine ? w.hits10 : null,
+                hasLine ? w.hits5 : null,
+                suggestion));
+        }
+        return new PropProfileDto(playerId, season, n, stats);
+    }
+
+    /** Population standard deviation of the first {@code n} values. */
+    static double stdDev(int[] values, int n) {
+        long s = 0;
+        long sq = 0;
+        for (int i = 0; i < n; i++) {
+            s += values[i];
+            sq += (long) values[i] * values[i];
+        }
+        return stdDev(n, s, sq);
+    }
+
+    /** Population standard deviation from a count, sum and sum of squares (exact in long, one sqrt). */
+    static double stdDev(int n, long sum, long sumSq) {
+        if (n < 2) return 0;
+        return Math.sqrt(Math.max(0, n * sumSq - sum * sum) / ((double) n * n));
+    }
+
+    private static int sum(int[] values, int n) {
+        int s = 0;
+        for (int i = 0; i < n; i++) {
+            s += values[i];
+        }
+        return s;
+    }
+
+    private static int sum(int[] values, int from, int to) {
+        int s = 0;
+        for (int i = from; i < to; i++) {
+            s += values[i];
+        }
+        return s;
+    }
+
+    private static int countAtOrAbove(int[] values, int from, int to, double threshold) {
+        int c = 0;
+        for (int i = from; i < to; i++) {
+            if (values[i] >= threshold) c++;
+        }
+        return c;
+    }
+
+    /**
+     * Running sums over the newest 10 games (and the newest 5 within them) for one stat against one line.
+     * Fed one game at a time, newest first, so callers can fill several stats in a single pass.
+     */
+    static final class RecentWindow {
+        static final int SIZE = 10;
+        static final int SHORT = 5;
+
+        int n;
+        long sum10;
+        long sumSq10;
+        int hits10;
+        int n5;
+        long sum5;
+        long sumSq5;
+        int max5;
+        int hits5;
+
+        /** Add the game at index {@code i} (0 = newest); ignored past the 10-game window. */
+        void add(int i, int value, boolean hit) {
+            if (i >= SIZE) return;
+            n++;
+            sum10 += value;
+            sumSq10 += (long) value * value;
+            if (hit) hits10++;
+            if (i < SHORT) {
+                if (n5 == 0 || value > max5) max5 = value;
+                n5++;
+                sum5 += value;
+                sumSq5 += (long) value * value;
+                if (hit) hits5++;
+            }
+        }
+
+        double last10Avg() {
+            return n > 0 ? sum10 / (double) n : 0;
+        }
+
+        double last5Avg() {
+            return n5 > 0 ? sum5 / (double) n5 : 0;
+        }
+
+        double stdDev10() {
+            return stdDev(n, sum10, sumSq10);
+        }
+
+        boolean highVariance() {
+            return n > 1 && stdDev10() > 0.3 * last10Avg();
+        }
+
+        boolean oneBigGame() {
+            return n5 >= 3 && max5 > last5Avg() + 2 * stdDev(n5, sum5, sumSq5);
+        }
+
+        String varianceNote() {
+            return oneBigGame() ? "One big game in last 5 — tread carefully"
+                : (highVariance() ? "High variance" : "Consistent");
+        }
     }
 }
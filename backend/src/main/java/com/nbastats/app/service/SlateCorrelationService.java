@@ -0,0 +1,148 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.dto.CorrelationPickDto;
+import com.nbastats.app.dto.SlateCorrelationDto;
+import com.nbastats.app.dto.TodayPickDto;
+import com.nbastats.app.repository.GameLogJdbcRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * How a slate's picks have hit together. Every pick becomes two bitsets over the game dates in the lookback
+ * (played, hit), loaded for all players in one query. Dates align games across players: teammates share the game
+ * on a date and opponents meet on it, so bit d means "the game on date d" for everyone. Each pair is then a few
+ * AND + popcount passes over a handful of longs, rows computed in parallel.
+ */
+@Service
+public class SlateCorrelationService {
+
+    private final DailyPropLineService dailyPropLineService;
+    private final GameLogJdbcRepository gameLogJdbcRepository;
+
+    public SlateCorrelationService(DailyPropLineService dailyPropLineService,
+                                   GameLogJdbcRepository gameLogJdbcRepository) {
+        this.dailyPropLineService = dailyPropLineService;
+        this.gameLogJdbcRepository = gameLogJdbcRepository;
+    }
+
+    /**
+     * Correlation matrix for the date's picks with the given line ids (all picks, ranked, when empty; at most
+     * {@code limit}) over games from {@code lookbackDays} before the date up to the day before it. A pick hits like
+     * in the backtest: Over when the stat is at or above the line, Under when below. DNP games are left out.
+     */
+    @Timed(value = "nbastats.compute", extraTags = {"stage", "slateCorrelation"}, histogram = true)
+    public SlateCorrelationDto correlate(LocalDate date, List<Long> lineIds, int limit, int lookbackDays, int minShared) {
+        List<TodayPickDto> picks = select(dailyPropLineService.getTodayPicks(date, 0), lineIds, limit);
+        LocalDate from = date.minusDays(lookbackDays);
+        LocalDate to = date.minusDays(1);
+        Set<Long> playerIds = new LinkedHashSet<>();
+        for (TodayPickDto p : picks) playerIds.add(p.playerId());
+        Map<Long, GameLogColumns> timelines = gameLogJdbcRepository.findColumnsByPlayerIdsBetween(playerIds, from, to);
+
+        int[] days = dateAxis(timelines.values());
+        int words = Math.max(1, (days.length + 63) >>> 6);
+        int k = picks.size();
+        long[][] played = new long[k][];
+        long[][] hit = new long[k][];
+        List<CorrelationPickDto> pickRows = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            TodayPickDto p = picks.get(i);
+            played[i] = new long[words];
+            hit[i] = new long[words];
+            fill(p, timelines.get(p.playerId()), days, played[i], hit[i]);
+            int games = popcount(played[i]);
+            int hits = popcount(hit[i]);
+            pickRows.add(new CorrelationPickDto(p.id(), p.playerId(), p.playerName(), p.statKey(), p.line(),
+                p.suggestion(), games, games > 0 ? round((double) hits / games) : null));
+        }
+
+        int[][] shared = new int[k][k];
+        Double[][] joint = new Double[k][k];
+        Double[][] phi = new Double[k][k];
+        IntStream.range(0, k).parallel().forEach(i -> {
+            for (int j = i; j < k; j++) {
+                int n = 0, a = 0, b = 0, both = 0;
+                for (int w = 0; w < words; w++) {
+                    long common = played[i][w] & played[j][w];
+                    long hi = hit[i][w] & common;
+                    long hj = hit[j][w] & common;
+                    n += Long.bitCount(common);
+                    a += Long.bitCount(hi);
+                    b += Long.bitCount(hj);
+                    both += Long.bitCount(hi & hj);
+                }
+                // Row i writes only cells (i, j >= i) and their mirror (j, i), so rows never overlap.
+                shared[i][j] = shared[j][i] = n;
+                if (n >= minShared) {
+                    joint[i][j] = joint[j][i] = round((double) both / n);
+                    phi[i][j] = phi[j][i] = phi(n, a, b, both);
+                }
+            }
+        });
+        return new SlateCorrelationDto(date, from, to, minShared, pickRows, shared, joint, phi);
+    }
+
+    private static List<TodayPickDto> select(List<TodayPickDto> all, List<Long> lineIds, int limit) {
+        List<TodayPickDto> out = new ArrayList<>();
+        Set<Long> wanted = lineIds != null ? new LinkedHashSet<>(lineIds) : Set.of();
+        for (TodayPickDto p : all) {
+            if (out.size() == limit) break;
+            if (wanted.isEmpty() || wanted.contains(p.id())) out.add(p);
+        }
+        return out;
+    }
+
+    /** Sorted distinct epoch days any of the players played on; bit d of every set is {@code days[d]}. */
+    static int[] dateAxis(Iterable<GameLogColumns> timelines) {
+        int total = 0;
+        for (GameLogColumns c : timelines) total += c.size();
+        int[] all = new int[total];
+        int n = 0;
+        for (GameLogColumns c : timelines) {
+            System.arraycopy(c.gameDates(), 0, all, n, c.size());
+            n += c.size();
+        }
+        return Arrays.stream(all).sorted().distinct().toArray();
+    }
+
+    static void fill(TodayPickDto pick, GameLogColumns timeline, int[] days, long[] played, long[] hit) {
+        if (timeline == null || !PlayerService.getAllowedStats().contains(pick.statKey())) return;
+        boolean over = !"Under".equals(pick.suggestion());
+        int[] values = timeline.stat(pick.statKey());
+        int[] dates = timeline.gameDates();
+        int[] minutes = timeline.minPlayedRaw();
+        for (int g = 0; g < timeline.size(); g++) {
+            if (minutes[g] <= 0) continue; // DNP: the prop would have been void
+            int d = Arrays.binarySearch(days, dates[g]);
+            played[d >>> 6] |= 1L << (d & 63);
+            boolean h = over ? values[g] >= pick.line() : values[g] < pick.line();
+            if (h) hit[d >>> 6] |= 1L << (d & 63);
+        }
+    }
+
+    /** Phi coefficient of two hit indicators over n shared games; null when either never varies. */
+    static Double phi(int n, int a, int b, int both) {
+        double denom = (double) a * (n - a) * b * (n - b);
+        if (denom <= 0) return null;
+        return round(((double) n * both - (double) a * b) / Math.sqrt(denom));
+    }
+
+    private static int popcount(long[] bits) {
+        int c = 0;
+        for (long w : bits) c += Long.bitCount(w);
+        return c;
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,198 @@
+package com.nbastats.app.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-player-season split cube: game counts, stat sums and game bitmasks for every combination of opponent,
+ * venue, days of rest and result. Built in one pass over {@link GameLogColumns} and memoized there, so a slice
+ * ("vs BOS", "away on back-to-backs", ...) is a sum over at most {@link #CELLS} cells, and hit counts against
+ * any line only visit the games in the slice.
+ */
+public final class SplitCube {
+
+    /** Current franchises; anything else (historic codes, missing opponent) falls into {@link #OTHER}. */
+    public static final List<String> TEAMS = List.of(
+        "ATL", "BOS", "BKN", "CHA", "CHI", "CLE", "DAL", "DEN", "DET", "GSW", "HOU", "IND", "LAC", "LAL", "MEM",
+        "MIA", "MIL", "MIN", "NOP", "NYK", "OKC", "ORL", "PHI", "PHX", "POR", "SAC", "SAS", "TOR", "UTA", "WAS");
+    public static final String OTHER = "OTHER";
+    public static final List<String> VENUES = List.of("home", "away");
+    /** Days off before the game: 0 (back-to-back), 1, 2 or more (also the player's first game). */
+    public static final List<String> RESTS = List.of("b2b", "1", "2+");
+    public static final List<String> RESULTS = List.of("W", "L");
+    /** Breakdown dimensions, in cell-index order. */
+    public static final List<String> DIMENSIONS = List.of("opponent", "venue", "rest", "result");
+
+    static final int OPPONENT_COUNT = TEAMS.size() + 1;
+    static final int CELLS = OPPONENT_COUNT * VENUES.size() * RESTS.size() * RESULTS.size();
+
+    private static final Map<String, Integer> TEAM_INDEX = new HashMap<>();
+    static {
+        for (int i = 0; i < TEAMS.size(); i++) TEAM_INDEX.put(TEAMS.get(i), i);
+    }
+
+    private final GameLogColumns cols;
+    private final int words;
+    private final int[] count = new int[CELLS];
+    private final int[][] sum;          // [stat][cell], stats in PlayerService.getAllowedStats() order
+    private final long[] games;         // cell * words + w: bit i = game index i (newest first)
+
+    private SplitCube(GameLogColumns cols) {
+        this.cols = cols;
+        List<String> stats = PlayerService.getAllowedStats();
+        int n = cols.size();
+        this.words = Math.max(1, (n + 63) >>> 6);
+        this.sum = new int[stats.size()][CELLS];
+        this.games = new long[CELLS * words];
+        int[][] columns = new int[stats.size()][];
+        for (int s = 0; s < columns.length; s++) columns[s] = cols.stat(stats.get(s));
+
+        int[] dates = cols.gameDates();
+        for (int i = 0; i < n; i++) {
+            // Index i + 1 is the previous game; its absence (first game of the load) counts as rested.
+            int rest = i + 1 < n ? restBucket(dates[i] - dates[i + 1] - 1) : RESTS.size() - 1;
+            int cell = cell(opponentIndex(cols.opponentAbbr()[i]), venueIndex(i), rest, resultIndex(cols.wl()[i]));
+            count[cell]++;
+            for (int s = 0; s < columns.length; s++) sum[s][cell] += columns[s][i];
+            games[cell * words + (i >>> 6)] |= 1L << (i & 63);
+        }
+    }
+
+    static SplitCube build(GameLogColumns cols) {
+        return new SplitCube(cols);
+    }
+
+    /** Games, stat sums and game mask for the cells matching every fixed coordinate (-1 = any). */
+    public Slice slice(int opponent, int venue, int rest, int result) {
+        Slice out = new Slice(sum.length, words);
+        for (int o = lo(opponent); o <= hi(opponent, OPPONENT_COUNT); o++) {
+            for (int v = lo(venue); v <= hi(venue, VENUES.size()); v++) {
+                for (int r = lo(rest); r <= hi(rest, RESTS.size()); r++) {
+                    for (int w = lo(result); w <= hi(result, RESULTS.size()); w++) {
+                        int c = cell(o, v, r, w);
+                        if (count[c] == 0) continue;
+                        out.games += count[c];
+                        for (int s = 0; s < sum.length; s++) out.sums[s] += sum[s][c];
+                        for (int k = 0; k < words; k++) out.mask[k] |= games[c * words + k];
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /** Games in the slice where the stat is at or above {@code line}. */
+    public int hits(Slice slice, String statKey, double line) {
+        int[] values = cols.stat(statKey);
+        int threshold = (int) Math.ceil(line); // integer stats: value >= line iff value >= ceil(line)
+        int hits = 0;
+        for (int k = 0; k < slice.mask.length; k++) {
+            long bits = slice.mask[k];
+            while (bits != 0) {
+                int i = (k << 6) + Long.numberOfTrailingZeros(bits);
+                if (values[i] >= threshold) hits++;
+                bits &= bits - 1;
+            }
+        }
+        return hits;
+    }
+
+    /** Number of buckets along a dimension from {@link #DIMENSIONS}. */
+    public static int size(String dimension) {
+        return switch (dimension) {
+            case "opponent" -> OPPONENT_COUNT;
+            case "venue" -> VENUES.size();
+            case "rest" -> RESTS.size();
+            case "result" -> RESULTS.size();
+            default -> throw new IllegalArgumentException("Unknown split dimension: " + dimension);
+        };
+    }
+
+    /** Display key of a bucket along a dimension (team abbreviation, "away", "b2b", "W", ...). */
+    public static String label(String dimension, int index) {
+        return switch (dimension) {
+            case "opponent" -> index < TEAMS.size() ? TEAMS.get(index) : OTHER;
+            case "venue" -> VENUES.get(index);
+            case "rest" -> RESTS.get(index);
+            case "result" -> RESULTS.get(index);
+            default -> throw new IllegalArgumentException("Unknown split dimension: " + dimension);
+        };
+    }
+
+    /** Bucket index for a query value along a dimension; -1 for null/blank (no filter). */
+    public static int parse(String dimension, String value) {
+        if (value == null || value.isBlank()) return -1;
+        String v = value.trim();
+        int idx = switch (dimension) {
+            case "opponent" -> {
+                String abbr = v.toUpperCase(Locale.ROOT);
+                yield OTHER.equals(abbr) ? TEAMS.size() : TEAMS.indexOf(abbr);
+            }
+            case "venue" -> VENUES.indexOf(v.toLowerCase(Locale.ROOT));
+            case "rest" -> RESTS.indexOf(v.toLowerCase(Locale.ROOT));
+            case "result" -> RESULTS.indexOf(v.toUpperCase(Locale.ROOT));
+            default -> throw new IllegalArgumentException("Unknown split dimension: " + dimension);
+        };
+        if (idx < 0) throw new IllegalArgumentException("Unknown " + dimension + ": " + value);
+        return idx;
+    }
+
+    /** Heap held by the cube (counts, sums and masks); part of {@link GameLogColumns#estimatedBytes()}. */
+    public long estimatedBytes() {
+        return 16L * (3 + sum.length) + 4L * CELLS * (1 + sum.length) + 8L * games.length;
+    }
+
+    private static int cell(int opponent, int venue, int rest, int result) {
+        return ((opponent * VENUES.size() + venue) * RESTS.size() + rest) * RESULTS.size() + result;
+    }
+
+    private static int lo(int fixed) {
+        return fixed < 0 ? 0 : fixed;
+    }
+
+    private static int hi(int fixed, int size) {
+        return fixed < 0 ? size - 1 : fixed;
+    }
+
+    private static int opponentIndex(String abbr) {
+        if (abbr == null) return TEAMS.size();
+        Integer idx = TEAM_INDEX.get(abbr);
+        return idx != null ? idx : TEAMS.size();
+    }
+
+    /** home_away, else the matchup ("LAL vs. BOS" = home), as ingest.py's parse_matchup derives it. */
+    private int venueIndex(int i) {
+        String ha = cols.homeAway()[i];
+        if (ha != null) return "H".equals(ha) ? 0 : 1;
+        String matchup = cols.matchups()[i];
+        return matchup != null && matchup.contains("vs.") ? 0 : 1;
+    }
+
+    /** Box scores always carry W or L; a missing value is counted as L. */
+    private static int resultIndex(String wl) {
+        return "W".equals(wl) ? 0 : 1;
+    }
+
+    private static int restBucket(int daysOff) {
+        return daysOff <= 0 ? 0 : Math.min(daysOff, RESTS.size() - 1);
+    }
+
+    /** Aggregate over a set of cells. */
+    public static final class Slice {
+        private int games;
+        private final long[] sums;
+        private final long[] mask;
+
+        private Slice(int stats, int words) {
+            this.sums = new long[stats];
+            this.mask = new long[words];
+        }
+
+        public int games() { return games; }
+
+        /** Sum of a stat (index into {@link PlayerService#getAllowedStats()}) over the slice's games. */
+        public long sum(int stat) { return sums[stat]; }
+    }
+}
@@ -0,0 +1,22 @@
+package com.nbastats.app.web;
+
+import com.nbastats.app.repository.DbBusyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /** DB bulkhead full: shed load quickly instead of letting requests queue on the connection pool. */
+    @ExceptionHandler(DbBusyException.class)
+    public ResponseEntity<Map<String, Object>> dbBusy(DbBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(Map.of("error", e.getMessage()));
+    }
+}
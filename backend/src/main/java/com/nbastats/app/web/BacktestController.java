@@ -0,0 +1,34 @@
+package com.nbastats.app.web;
+
+import com.nbastats.app.service.BacktestService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class BacktestController {
+
+    private final BacktestService backtestService;
+
+    public BacktestController(BacktestService backtestService) {
+        this.backtestService = backtestService;
+    }
+
+    /** Hit rates of stored daily suggestions in [from, to], by confidence, stat and direction. */
+    @GetMapping("/backtest")
+    public ResponseEntity<?> backtest(
+        @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(value = "graceDays", defaultValue = "1") int graceDays
+    ) {
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from must be on or before to"));
+        }
+        return ResponseEntity.ok(backtestService.backtest(from, to, Math.min(Math.max(graceDays, 0), 7)));
+    }
+}
@@ -0,0 +1,91 @@
+package com.nbastats.app.web;
+
+import com.nbastats.app.service.GameLogExportFilter;
+import com.nbastats.app.service.GameLogExportService;
+import com.nbastats.app.service.GameLogField;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/export")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    /** Exports run for minutes; tell clients not to hammer the endpoint while the slots are busy. */
+    private static final int RETRY_AFTER_SECONDS = 30;
+
+    private final GameLogExportService exportService;
+
+    public ExportController(GameLogExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * All matching game logs, streamed (player_id, game_date DESC). Every filter is optional:
+     * {@code players=1,2&seasons=2023-24,2024-25&from=2024-01-01&to=2024-03-31&format=csv}.
+     * {@code fields=playerId,gameDate,pts} exports (and selects) only those fields; {@code format=columns} or
+     * {@code format=cbor} sends blocks of one array per field instead of one record per game.
+     * Admin path like the other bulk endpoints; 503 with Retry-After when the concurrent-export cap is reached.
+     */
+    @GetMapping("/game-logs")
+    public ResponseEntity<?> exportGameLogs(
+        @RequestParam(value = "players", required = false) List<Long> players,
+        @RequestParam(value = "seasons", required = false) List<String> seasons,
+        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(value = "fields", required = false) List<String> fields,
+        @RequestParam(value = "format", defaultValue = "ndjson") String format
+    ) {
+        GameLogExportService.Format fmt;
+        List<GameLogField> projection;
+        try {
+            fmt = GameLogExportService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "format must be ndjson, csv, columns or cbor"));
+        }
+        try {
+            projection = GameLogField.parse(fields, GameLogField.ALL);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        GameLogExportFilter filter = new GameLogExportFilter(players, seasons, from, to);
+        String filename = "game-logs." + switch (fmt) {
+            case CSV -> "csv";
+            case CBOR -> "cbor";
+            default -> "ndjson";
+        };
+        if (!exportService.tryReserve()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+                .body(Map.of("error", "Too many exports running, retry later"));
+        }
+        StreamingResponseBody body = out -> {
+            try {
+                exportService.export(filter, projection, fmt, out);
+            } finally {
+                exportService.release();
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(switch (fmt) {
+                case CSV -> CSV;
+                case CBOR -> MediaType.APPLICATION_CBOR;
+                default -> NDJSON;
+            })
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+}
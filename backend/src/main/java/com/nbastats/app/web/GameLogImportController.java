@@ -0,0 +1,66 @@
+package com.nbastats.app.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.nbastats.app.dto.GameLogImportResultDto;
+import com.nbastats.app.service.GameLogImportService;
+import com.nbastats.app.service.ImportTooLargeException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class GameLogImportController {
+
+    private final GameLogImportService importService;
+
+    public GameLogImportController(GameLogImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Bulk-load an NBA stats game-log file sent as the raw request body (JSON resultSets, JSON array of rows, or CSV).
+     * Format from {@code format=json|csv}, else from a text/csv Content-Type; {@code season} fills rows that carry
+     * neither SEASON nor SEASON_ID. The body is spooled to a temp file before the import transaction starts.
+     */
+    @PostMapping("/game-logs/import")
+    public ResponseEntity<?> importGameLogs(
+        @RequestParam(value = "format", required = false) String format,
+        @RequestParam(value = "season", required = false) String season,
+        @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+        InputStream body
+    ) throws IOException {
+        GameLogImportService.Format fmt;
+        try {
+            fmt = format != null
+                ? GameLogImportService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT))
+                : contentType != null && contentType.startsWith("text/csv")
+                    ? GameLogImportService.Format.CSV : GameLogImportService.Format.JSON;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "format must be json or csv"));
+        }
+        Path file;
+        try {
+            file = importService.spool(body, fmt);
+        } catch (ImportTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("error", e.getMessage()));
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            GameLogImportResultDto result = importService.importGameLogs(in, fmt, season);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unreadable file: " + e.getMessage()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -2,19 +2,43 @@ package com.nbastats.app.web;
 
 import com.nbastats.app.dto.GameLogDto;
 import com.nbastats.app.dto.OverUnderDto;
+import com.nbastats.app.dto.OverUnderLadderDto;
+import com.nbastats.app.dto.PropProfileDto;
 import com.nbastats.app.dto.SeasonStatsDto;
 import com.nbastats.app.entity.Player;
+import com.nbastats.app.service.GameLogCursor;
+import com.nbastats.app.service.GameLogField;
+import com.nbastats.app.service.GameLogVersion;
 import com.nbastats.app.service.PlayerService;
+import com.nbastats.app.service.SplitCube;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/players")
 @CrossOrigin(origins = "*")
 public class PlayerController {
 
+    private static final int MAX_BATCH_PLAYERS = 200;
+    private static final int MAX_PAGE_SIZE = 200;
+    /** Fields of {@link GameLogDto}, the default for {@code layout=columns}. */
+    private static final List<GameLogField> GAME_FIELDS = GameLogField.ALL.stream()
+        .filter(f -> f != GameLogField.PLAYER_ID && f != GameLogField.FG3A)
+        .toList();
+    private static final int MAX_TREND_SEASONS = 10;
+    private static final int MAX_TREND_WINDOWS = 5;
+    private static final int MAX_TREND_WINDOW = 82;
+
     private final PlayerService playerService;
 
     public PlayerController(PlayerService playerService) {
@@ -22,8 +46,11 @@ public class PlayerController {
     }
 
     @GetMapping
-    public List<Player> search(@RequestParam(value = "q", required = false) String q) {
-        return playerService.searchByName(q != null ? q : "");
+    public List<Player> search(
+        @RequestParam(value = "q", required = false) String q,
+        @RequestParam(value = "limit", defaultValue = "25") int limit
+    ) {
+        return playerService.searchByName(q != null ? q : "", Math.min(Math.max(limit, 1), 100));
     }
 
     @GetMapping("/{id}")
@@ -32,21 +59,91 @@ public class PlayerController {
         return p != null ? ResponseEntity.ok(p) : ResponseEntity.notFound().build();
     }
 
+    /**
+     * The season's game log, newest first. {@code fields=pts,reb,gameDate} returns only those keys;
+     * {@code layout=columns} returns one array per field instead of one object per game. Both are optional and
+     * combine; without them the response is the full {@link GameLogDto} list. Send {@code Accept: application/cbor}
+     * for a binary encoding of any of these.
+     */
     @GetMapping("/{id}/games")
-    public List<GameLogDto> getGames(
+    public ResponseEntity<?> getGames(
         @PathVariable Long id,
-        @RequestParam(value = "season", defaultValue = "2024-25") String season
+        @RequestParam(value = "season", defaultValue = "2024-25") String season,
+        @RequestParam(value = "fields", required = false) List<String> fields,
+        @RequestParam(value = "layout", defaultValue = "rows") String layout,
+        WebRequest request
     ) {
-        return playerService.getGameLog(id, season);
+        List<GameLogField> projection;
+        boolean columnar = "columns".equalsIgnoreCase(layout.trim());
+        try {
+            if (!columnar && !"rows".equalsIgnoreCase(layout.trim())) {
+                throw new IllegalArgumentException("layout must be rows or columns");
+            }
+            projection = GameLogField.parse(fields, null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        GameLogVersion version = playerService.getGameLogVersion(id, season);
+        if (notModified(request, version)) {
+            return null;
+        }
+        if (columnar) {
+            return revalidated(playerService.getGameLogColumnar(id, season, projection != null ? projection : GAME_FIELDS));
+        }
+        if (projection != null) {
+            return revalidated(playerService.getGameLogRows(id, season, projection));
+        }
+        return revalidated(playerService.getGameLog(id, season));
+    }
+
+    /**
+     * Game log pages across seasons for infinite scroll: {@code limit} games newest first, then pass the returned
+     * {@code nextCursor} as {@code cursor} for the next page. {@code seasons} (optional) restricts the seasons.
+     */
+    @GetMapping("/{id}/games/page")
+    public ResponseEntity<?> getGamesPage(
+        @PathVariable Long id,
+        @RequestParam(value = "seasons", required = false) List<String> seasons,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "limit", defaultValue = "50") int limit
+    ) {
+        GameLogCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = GameLogCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
+        List<String> seasonList = seasons != null ? distinct(seasons) : List.of();
+        return ResponseEntity.ok(playerService.getGameLogPage(id, seasonList, after, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)));
     }
 
     @GetMapping("/{id}/stats")
     public ResponseEntity<SeasonStatsDto> getStats(
         @PathVariable Long id,
-        @RequestParam(value = "season", defaultValue = "2024-25") String season
+        @RequestParam(value = "season", defaultValue = "2024-25") String season,
+        WebRequest request
     ) {
+        GameLogVersion version = playerService.getGameLogVersion(id, season);
+        if (notModified(request, version)) {
+            return null;
+        }
         SeasonStatsDto stats = playerService.getSeasonStats(id, season);
-        return ResponseEntity.ok(stats);
+        return revalidated(stats);
+    }
+
+    /** Season averages for up to {@value #MAX_BATCH_PLAYERS} players in one request and one query. */
+    @PostMapping("/stats:batch")
+    public ResponseEntity<?> getStatsBatch(@RequestBody StatsBatchRequest request) {
+        if (request.getPlayerIds() == null || request.getPlayerIds().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "playerIds required"));
+        }
+        if (request.getPlayerIds().size() > MAX_BATCH_PLAYERS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "at most " + MAX_BATCH_PLAYERS + " playerIds"));
+        }
+        String season = request.getSeason() != null ? request.getSeason() : "2024-25";
+        return ResponseEntity.ok(playerService.getSeasonStatsBatch(request.getPlayerIds(), season));
     }
 
     @GetMapping("/{id}/over-under")
@@ -55,9 +152,168 @@ public class PlayerController {
         @RequestParam(value = "season", defaultValue = "2024-25") String season,
         @RequestParam(value = "stat", defaultValue = "pts") String stat,
         @RequestParam(value = "threshold", defaultValue = "25.0") double threshold,
-        @RequestParam(value = "lastN", required = false) Integer lastN
+        @RequestParam(value = "lastN", required = false) Integer lastN,
+        WebRequest request
     ) {
+        GameLogVersion version = playerService.getGameLogVersion(id, season);
+        if (notModified(request, version)) {
+            return null;
+        }
         OverUnderDto dto = playerService.getOverUnder(id, season, stat, threshold, lastN);
-        return ResponseEntity.ok(dto);
+        return revalidated(dto);
+    }
+
+    @GetMapping("/{id}/over-under/ladder")
+    public ResponseEntity<OverUnderLadderDto> getOverUnderLadder(
+        @PathVariable Long id,
+        @RequestParam(value = "season", defaultValue = "2024-25") String season,
+        @RequestParam(value = "stat", defaultValue = "pts") String stat,
+        @RequestParam(value = "lastN", required = false) Integer lastN,
+        WebRequest request
+    ) {
+        GameLogVersion version = playerService.getGameLogVersion(id, season);
+        if (notModified(request, version)) {
+            return null;
+        }
+        return revalidated(playerService.getOverUnderLadder(id, season, stat, lastN));
+    }
+
+    /**
+     * Averages, variance and (for each stat key passed as a query param, e.g. {@code pts=24.5&reb=8.5}) hit counts
+     * and the prop suggestion, for all allowed stats at once. Unknown keys and unparseable lines are ignored.
+     */
+    @GetMapping("/{id}/prop-profile")
+    public ResponseEntity<PropProfileDto> getPropProfile(
+        @PathVariable Long id,
+        @RequestParam(value = "season", defaultValue = "2024-25") String season,
+        @RequestParam Map<String, String> params,
+        WebRequest request
+    ) {
+        GameLogVersion version = playerService.getGameLogVersion(id, season);
+        if (notModified(request, version)) {
+            return null;
+        }
+        return revalidated(playerService.getPropProfile(id, season, linesFrom(params)));
+    }
+
+    /**
+     * Averages (and hit counts for stats given a line, as in prop-profile) split by opponent, venue, rest and result.
+     * Filters combine: {@code opponent=BOS&venue=away&rest=b2b&result=W}. {@code by=opponent|venue|rest|result}
+     * returns one row per bucket of that dimension instead of a single filtered row.
+     */
+    @GetMapping("/{id}/splits")
+    public ResponseEntity<?> getSplits(
+        @PathVariable Long id,
+        @RequestParam(value = "season", defaultValue = "2024-25") String season,
+        @RequestParam(value = "by", required = false) String by,
+        @RequestParam Map<String, String> params,
+        WebRequest request
+    ) {
+        int[] filters = new int[SplitCube.DIMENSIONS.size()];
+        String dimension = by != null && !by.isBlank() ? by.trim().toLowerCase() : null;
+        try {
+            if (dimension != null) SplitCube.size(dimension);
+            for (int d = 0; d < filters.length; d++) {
+                filters[d] = SplitCube.parse(SplitCube.DIMENSIONS.get(d), params.get(SplitCube.DIMENSIONS.get(d)));
+            }
+            if (dimension != null && filters[SplitCube.DIMENSIONS.indexOf(dimension)] >= 0) {
+                throw new IllegalArgumentException("Cannot filter and break down by " + dimension);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        GameLogVersion version = playerService.getGameLogVersion(id, season);
+        if (notModified(request, version)) {
+            return null;
+        }
+        return revalidated(playerService.getSplits(id, season, filters, dimension, linesFrom(params)));
+    }
+
+    /**
+     * Rolling mean and standard deviation per stat key and window, e.g.
+     * {@code seasons=2023-24,2024-25&stats=pts,pts_reb_ast&windows=5,10}. Several seasons are one continuous series.
+     */
+    @GetMapping("/{id}/trends")
+    public ResponseEntity<?> getTrends(
+        @PathVariable Long id,
+        @RequestParam(value = "seasons", defaultValue = "2024-25") List<String> seasons,
+        @RequestParam(value = "stats", defaultValue = "pts") List<String> stats,
+        @RequestParam(value = "windows", defaultValue = "5,10") List<Integer> windows,
+        WebRequest request
+    ) {
+        List<String> seasonList = distinct(seasons);
+        List<String> statList = distinct(stats);
+        List<Integer> windowList = new ArrayList<>(new LinkedHashSet<>(windows));
+        if (seasonList.isEmpty() || seasonList.size() > MAX_TREND_SEASONS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Give 1 to " + MAX_TREND_SEASONS + " seasons"));
+        }
+        for (String stat : statList) {
+            if (!PlayerService.getAllowedStats().contains(stat)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Unknown stat: " + stat));
+            }
+        }
+        if (statList.isEmpty() || windowList.isEmpty() || windowList.size() > MAX_TREND_WINDOWS
+                || windowList.stream().anyMatch(w -> w == null || w < 1 || w > MAX_TREND_WINDOW)) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                "Give at least one stat and 1 to " + MAX_TREND_WINDOWS + " windows between 1 and " + MAX_TREND_WINDOW));
+        }
+        GameLogVersion version = playerService.getGameLogVersion(id, seasonList);
+        if (notModified(request, version)) {
+            return null;
+        }
+        return revalidated(playerService.getTrends(id, seasonList, statList, windowList));
+    }
+
+    private static List<String> distinct(List<String> values) {
+        LinkedHashSet<String> out = new LinkedHashSet<>();
+        for (String v : values) {
+            if (v != null && !v.isBlank()) out.add(v.trim());
+        }
+        return new ArrayList<>(out);
+    }
+
+    /** Lines keyed by stat from query params ({@code pts=24.5}); unknown keys and unparseable values are ignored. */
+    private static Map<String, Double> linesFrom(Map<String, String> params) {
+        Map<String, Double> lines = new HashMap<>();
+        for (String stat : PlayerService.getAllowedStats()) {
+            String raw = params.get(stat);
+            if (raw == null || raw.isBlank()) continue;
+            try {
+                lines.put(stat, Double.parseDouble(raw.trim()));
+            } catch (NumberFormatException ignored) {
+                // leave this stat without a line
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Conditional GET against the game-log version; true means a 304 was written. The validators do not depend on
+     * the negotiated encoding (JSON or CBOR), so {@code Vary: Accept} goes on both the 304 and the 200: caches then
+     * never match a 304 for one encoding to a stored body in the other.
+     */
+    private static boolean notModified(WebRequest request, GameLogVersion version) {
+        if (request instanceof ServletWebRequest servlet && servlet.getResponse() != null) {
+            servlet.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return request.checkNotModified(version.eTag(), version.lastModifiedMillis());
+    }
+
+    /**
+     * 200 for the full path. ETag / Last-Modified (and Vary) were already set by {@link #notModified}; no-cache
+     * makes browsers revalidate on every load instead of serving a stale copy.
+     */
+    private static <T> ResponseEntity<T> revalidated(T body) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body);
+    }
+
+    public static class StatsBatchRequest {
+        private List<Long> playerIds;
+        private String season;
+
+        public List<Long> getPlayerIds() { return playerIds; }
+        public void setPlayerIds(List<Long> playerIds) { this.playerIds = playerIds; }
+        public String getSeason() { return season; }
+        public void setSeason(String season) { this.season = season; }
     }
 }
@@ -1,7 +1,9 @@
 package com.nbastats.app.web;
 
 import com.nbastats.app.dto.TodayPickDto;
+import com.nbastats.app.repository.DailyPropLineJdbcRepository;
 import com.nbastats.app.service.DailyPropLineService;
+import com.nbastats.app.service.SlateCorrelationService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,10 +17,15 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class TodayPicksController {
 
+    private static final int MAX_CORRELATION_PICKS = 100;
+
     private final DailyPropLineService dailyPropLineService;
+    private final SlateCorrelationService slateCorrelationService;
 
-    public TodayPicksController(DailyPropLineService dailyPropLineService) {
+    public TodayPicksController(DailyPropLineService dailyPropLineService,
+                                SlateCorrelationService slateCorrelationService) {
         this.dailyPropLineService = dailyPropLineService;
+        this.slateCorrelationService = slateCorrelationService;
     }
 
     @GetMapping("/today-picks")
@@ -31,6 +38,28 @@ public class TodayPicksController {
         return dailyPropLineService.getTodayPicks(useDate, limit);
     }
 
+    /**
+     * Pairwise joint hit rate and correlation of a slate's picks over past games, for building parlays.
+     * {@code ids} picks specific lines; otherwise the top {@code limit} ranked picks. Defaults to the latest slate.
+     */
+    @GetMapping("/today-picks/correlation")
+    public ResponseEntity<?> getCorrelation(
+        @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+        @RequestParam(value = "ids", required = false) List<Long> ids,
+        @RequestParam(value = "limit", defaultValue = "30") int limit,
+        @RequestParam(value = "lookbackDays", defaultValue = "365") int lookbackDays,
+        @RequestParam(value = "minShared", defaultValue = "5") int minShared
+    ) {
+        LocalDate useDate = date != null ? date : dailyPropLineService.getLatestLineDate().orElse(null);
+        if (useDate == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "no daily lines stored"));
+        }
+        return ResponseEntity.ok(slateCorrelationService.correlate(useDate, ids,
+            Math.min(Math.max(limit, 1), MAX_CORRELATION_PICKS),
+            Math.min(Math.max(lookbackDays, 30), 3 * 365),
+            Math.max(minShared, 1)));
+    }
+
     @PostMapping("/admin/daily-lines")
     public ResponseEntity<Map<String, Object>> addDailyLines(@RequestBody AddDailyLinesRequest request) {
         if (request.getDate() == null || request.getDate().isBlank() || request.getLines() == null || request.getLines().isEmpty()) {
@@ -43,18 +72,26 @@ public class TodayPicksController {
             return ResponseEntity.badRequest().body(Map.of("error", "date must be YYYY-MM-DD"));
         }
         String season = request.getSeason() != null ? request.getSeason() : "2025-26";
-        List<DailyPropLineService.LineInput> lines = request.getLines();
+        // One set-based pass: no per-line queries or managed entities, so a 400-line slate no longer needs chunking.
+        DailyPropLineJdbcRepository.UpsertResult result = dailyPropLineService.addDailyLines(date, season, request.getLines());
 
-        // Process in batches to avoid OOM: one big transaction would keep 400 × ~70 game logs in Hibernate's persistence context.
-        int batchSize = 30;
-        int totalSaved = 0;
-        for (int i = 0; i < lines.size(); i += batchSize) {
-            int end = Math.min(i + batchSize, lines.size());
-            List<DailyPropLineService.LineInput> chunk = lines.subList(i, end);
-            totalSaved += dailyPropLineService.addDailyLines(date, season, chunk);
-        }
+        return ResponseEntity.ok(Map.of(
+            "saved", result.saved(),
+            "inserted", result.inserted(),
+            "updated", result.updated(),
+            "unchanged", result.unchanged(),
+            "date", date.toString()));
+    }
 
-        return ResponseEntity.ok(Map.of("saved", totalSaved, "date", date.toString()));
+    /**
+     * Recompute a stored slate's suggestions using only games played before its line date (e.g. after a rules
+     * change, or to audit a slate that was entered late).
+     */
+    @PostMapping("/admin/daily-lines/recompute")
+    public ResponseEntity<DailyPropLineService.RecomputeResult> recomputeSlate(
+        @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(dailyPropLineService.recomputeSlate(date));
     }
 
     public static class AddDailyLinesRequest {
@@ -0,0 +1,125 @@
+package com.nbastats.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GameLogImportServiceTest {
+
+    private static List<String[]> csv(String text) throws IOException {
+        GameLogImportService.CsvReader reader = new GameLogImportService.CsvReader(new StringReader(text));
+        List<String[]> records = new ArrayList<>();
+        String[] r;
+        while ((r = reader.next()) != null) records.add(r);
+        return records;
+    }
+
+    @Test
+    void csvReaderHandlesQuotedFields() throws IOException {
+        List<String[]> records = csv("a,\"b,c\",\"say \"\"hi\"\"\",\"\"\n\"line\nbreak\",x\n");
+        assertEquals(2, records.size());
+        assertArrayEquals(new String[]{"a", "b,c", "say \"hi\"", ""}, records.get(0));
+        assertArrayEquals(new String[]{"line\nbreak", "x"}, records.get(1));
+    }
+
+    @Test
+    void csvReaderHandlesCrlfAndMissingFinalNewline() throws IOException {
+        List<String[]> records = csv("a,b\r\n1,2\r\n3,4");
+        assertEquals(3, records.size());
+        assertArrayEquals(new String[]{"a", "b"}, records.get(0));
+        assertArrayEquals(new String[]{"1", "2"}, records.get(1));
+        assertArrayEquals(new String[]{"3", "4"}, records.get(2));
+    }
+
+    @Test
+    void csvReaderKeepsBlankLinesAndEmptyFields() throws IOException {
+        List<String[]> records = csv("1,,3\n\n,\n");
+        assertArrayEquals(new String[]{"1", "", "3"}, records.get(0));
+        assertArrayEquals(new String[]{""}, records.get(1));
+        assertArrayEquals(new String[]{"", ""}, records.get(2));
+    }
+
+    @Test
+    void csvReaderRejectsUnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> csv("a,\"open\n"));
+    }
+
+    @Test
+    void csvImportStripsUtf8BomAndAcceptsCrlf() throws IOException {
+        String file = "\uFEFFPlayer_ID,PLAYER_NAME,Game_ID,GAME_DATE,MIN,PTS\r\n"
+            + "2544,\"James, LeBron\",0022400001,\"OCT 22, 2024\",34:12,21\r\n";
+        StringWriter out = new StringWriter();
+        GameLogImportService.StageRows rows = new GameLogImportService.StageRows(null);
+        rows.out = out;
+        GameLogImportService.readCsv(new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8)), rows);
+        assertEquals(1, rows.read);
+        assertEquals(0, rows.skipped);
+        assertEquals("1,2544,\"James, LeBron\",\"0022400001\",2024-10-22,\"2024-25\",,,34,21,,,,,,,,,,,,,,,\n",
+            out.toString());
+    }
+
+    @Test
+    void parseDateAcceptsIsoTimestampAndNbaFormats() {
+        LocalDate expected = LocalDate.of(2024, 4, 10);
+        assertEquals(expected, GameLogImportService.parseDate("2024-04-10"));
+        assertEquals(expected, GameLogImportService.parseDate(" 2024-04-10T00:00:00 "));
+        assertEquals(expected, GameLogImportService.parseDate("APR 10, 2024"));
+        assertEquals(expected, GameLogImportService.parseDate("Apr 10, 2024"));
+        assertNull(GameLogImportService.parseDate(null));
+        assertNull(GameLogImportService.parseDate("  "));
+        assertNull(GameLogImportService.parseDate("2024-13-40"));
+        assertNull(GameLogImportService.parseDate("yesterday"));
+    }
+
+    @Test
+    void parseMinutesTruncatesToWholeMinutes() {
+        assertEquals(34, GameLogImportService.parseMinutes("34"));
+        assertEquals(34, GameLogImportService.parseMinutes("34.9"));
+        assertEquals(34, GameLogImportService.parseMinutes("34:12"));
+        assertEquals(0, GameLogImportService.parseMinutes("0:45"));
+        assertNull(GameLogImportService.parseMinutes(null));
+        assertNull(GameLogImportService.parseMinutes(""));
+        assertNull(GameLogImportService.parseMinutes("DNP"));
+    }
+
+    @Test
+    void seasonPrefersSeasonThenSeasonIdThenDefaultThenDate() {
+        LocalDate nov = LocalDate.of(2024, 11, 2);
+        LocalDate apr = LocalDate.of(2025, 4, 10);
+        GameLogImportService.StageRows withDefault = new GameLogImportService.StageRows("2023-24");
+        GameLogImportService.StageRows noDefault = new GameLogImportService.StageRows(null);
+
+        String[] f = fields();
+        f[4] = " 2022-23 ";
+        f[5] = "22024";
+        assertEquals("2022-23", withDefault.season(f, nov));
+
+        f[4] = "2022";
+        assertEquals("2024-25", withDefault.season(f, nov));
+
+        f[4] = null;
+        f[5] = "22009";
+        assertEquals("2009-10", noDefault.season(f, nov));
+
+        f[5] = "bad";
+        assertEquals("2023-24", withDefault.season(f, nov));
+        assertEquals("2024-25", noDefault.season(f, nov));
+        assertEquals("2024-25", noDefault.season(f, apr));
+    }
+
+    private static String[] fields() {
+        return new String[25];
+    }
+}
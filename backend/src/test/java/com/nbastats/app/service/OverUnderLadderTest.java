@@ -0,0 +1,113 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.dto.OverUnderDto;
+import com.nbastats.app.dto.OverUnderLadderDto;
+import com.nbastats.app.dto.OverUnderRungDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The over/under ladder against {@code /over-under} on the same column: every rung, and every threshold the client
+ * answers from the rungs ({@code overUnderFromLadder} in OverUnderBlock.jsx, mirrored in {@link #fromLadder}).
+ */
+class OverUnderLadderTest {
+
+    private static final List<int[]> COLUMNS = List.of(
+        new int[]{0, 0, 0},
+        new int[]{0, 3, 7, 7, 12, 0, 1},
+        new int[]{5, 9, 9, 20},
+        new int[]{4},
+        new int[]{31, 18, 25, 40, 22, 18, 35, 27, 29, 12, 33}
+    );
+    private static final Integer[] LAST_N = {null, 0, 1, 3, 10, 99};
+
+    @Test
+    void rungsMatchOverUnderAtEveryLine() {
+        for (int[] values : COLUMNS) {
+            PlayerService service = serviceFor(values);
+            for (Integer lastN : LAST_N) {
+                OverUnderLadderDto ladder = service.getOverUnderLadder(1L, "2024-25", "pts", lastN);
+                assertEquals(expectedTotal(values, lastN), ladder.totalGames());
+                for (OverUnderRungDto rung : ladder.rungs()) {
+                    OverUnderDto ou = service.getOverUnder(1L, "2024-25", "pts", rung.line(), lastN);
+                    assertEquals(ou.totalGames(), ladder.totalGames());
+                    assertEquals(ou.gamesOver(), rung.gamesOver(), "line " + rung.line());
+                    assertEquals(ou.gamesUnder(), rung.gamesUnder(), "line " + rung.line());
+                    assertEquals(ou.probabilityOver(), rung.probabilityOver());
+                }
+            }
+        }
+    }
+
+    @Test
+    void rungsAreContiguousHalfPointsFromLoToMaxPlusOne() {
+        OverUnderLadderDto ladder = serviceFor(new int[]{0, 3, 7, 7, 12, 0, 1}).getOverUnderLadder(1L, "2024-25", "pts", null);
+        assertEquals(0, ladder.minValue());
+        assertEquals(12, ladder.maxValue());
+        List<OverUnderRungDto> rungs = ladder.rungs();
+        assertEquals(0.5, rungs.get(0).line()); // min 0: the 0 line is not offered
+        assertEquals(12.5, rungs.get(rungs.size() - 1).line());
+        assertEquals(0, rungs.get(rungs.size() - 1).gamesOver());
+        for (int j = 1; j < rungs.size(); j++) {
+            assertEquals(rungs.get(j - 1).line() + 1, rungs.get(j).line());
+            assertTrue(rungs.get(j).gamesOver() <= rungs.get(j - 1).gamesOver());
+        }
+
+        OverUnderLadderDto high = serviceFor(new int[]{5, 9, 9, 20}).getOverUnderLadder(1L, "2024-25", "pts", null);
+        assertEquals(4.5, high.rungs().get(0).line());
+        assertEquals(4, high.rungs().get(0).gamesOver());
+    }
+
+    @Test
+    void clientLookupMatchesOverUnderForAnyThreshold() {
+        for (int[] values : COLUMNS) {
+            PlayerService service = serviceFor(values);
+            for (Integer lastN : LAST_N) {
+                OverUnderLadderDto ladder = service.getOverUnderLadder(1L, "2024-25", "pts", lastN);
+                // Below lo, fractional and integer lines, and past max + 1.
+                for (double threshold = -3; threshold <= 45; threshold += 0.25) {
+                    OverUnderDto ou = service.getOverUnder(1L, "2024-25", "pts", threshold, lastN);
+                    assertEquals(ou.gamesOver(), fromLadder(ladder, threshold), "threshold " + threshold);
+                }
+            }
+        }
+    }
+
+    @Test
+    void noGamesGivesEmptyLadder() {
+        OverUnderLadderDto ladder = serviceFor(new int[0]).getOverUnderLadder(1L, "2024-25", "pts", 5);
+        assertEquals(0, ladder.totalGames());
+        assertNull(ladder.minValue());
+        assertTrue(ladder.rungs().isEmpty());
+    }
+
+    /** Games over {@code threshold} as OverUnderBlock.jsx's overUnderFromLadder computes it. */
+    private static int fromLadder(OverUnderLadderDto ladder, double threshold) {
+        int total = ladder.totalGames();
+        if (total == 0) return 0;
+        double target = Math.ceil(threshold) - 0.5;
+        List<OverUnderRungDto> rungs = ladder.rungs();
+        if (target < rungs.get(0).line()) return total;
+        if (target <= rungs.get(rungs.size() - 1).line()) {
+            return rungs.get((int) (target - rungs.get(0).line())).gamesOver();
+        }
+        return 0;
+    }
+
+    private static int expectedTotal(int[] values, Integer lastN) {
+        return lastN != null && lastN > 0 ? Math.min(lastN, values.length) : values.length;
+    }
+
+    private static PlayerService serviceFor(int[] values) {
+        GameLogStore store = mock(GameLogStore.class);
+        when(store.get(1L, "2024-25")).thenReturn(TestGames.pts(values));
+        return new PlayerService(null, null, store, null, null);
+    }
+}
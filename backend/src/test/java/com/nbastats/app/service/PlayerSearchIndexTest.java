@@ -0,0 +1,56 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.entity.Player;
+import com.nbastats.app.repository.PlayerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlayerSearchIndexTest {
+
+    private static final List<String> NAMES = List.of("Anthony Davis", "Jaylen Brown", "LeBron James", "Luka Dončić");
+
+    @Test
+    void shortFragmentsMatchAnywhereLikeIlike() {
+        PlayerSearchIndex index = index(NAMES);
+        for (String q : List.of("b", "br", "nc", "ci", "on", "x", "a j")) {
+            assertEquals(ilike(q), names(index.search(q, 25)), q);
+        }
+    }
+
+    @Test
+    void longerQueriesKeepSubstringMatches() {
+        PlayerSearchIndex index = index(NAMES);
+        assertEquals(List.of("LeBron James"), names(index.search("ebro", 25)));
+        assertEquals(List.of("Luka Dončić"), names(index.search("oncic", 25)));
+    }
+
+    /** The baseline's {@code full_name ILIKE '%q%'} over normalized names, in index (name) order. */
+    private static List<String> ilike(String q) {
+        return NAMES.stream().filter(n -> PlayerSearchIndex.normalize(n).contains(q.toLowerCase(Locale.ROOT)))
+            .sorted().toList();
+    }
+
+    private static List<String> names(List<Player> players) {
+        return players.stream().map(Player::getFullName).sorted().toList();
+    }
+
+    private static PlayerSearchIndex index(List<String> names) {
+        PlayerRepository repo = mock(PlayerRepository.class);
+        when(repo.findCountAndMaxUpdatedAt()).thenReturn(List.<Object[]>of(new Object[] { names.size(), null }));
+        when(repo.findAll(any(Sort.class))).thenReturn(names.stream().map(n -> {
+            Player p = new Player();
+            p.setFullName(n);
+            p.setIsActive(true);
+            return p;
+        }).toList());
+        return new PlayerSearchIndex(repo);
+    }
+}
@@ -0,0 +1,175 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.dto.PropPickSuggestionDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The running-sum prop-pick rules ({@link PlayerService#suggest}) against the original list-based implementation:
+ * a table of hand-picked windows with the outputs the original produced, plus a seeded random sweep compared to
+ * {@link #baseline} (the original code, kept here as the oracle).
+ */
+class PropSuggestionTest {
+
+    private static final String HOT_TAKE = "Hot take: cold recently, season avg suggests Over";
+
+    static Stream<Arguments> cases() {
+        return Stream.of(
+            // name, values (newest first), stat, line, season avg 3pm, season hits, season total, suggestion, confidence, note
+            Arguments.of("5/5 tie, projection over", new int[]{30, 30, 30, 30, 30, 10, 10, 10, 10, 10}, "pts", 20.0,
+                null, 0, 0, "Over", "Low", "High variance"),
+            Arguments.of("5/5 tie, projection under", new int[]{10, 10, 10, 10, 10, 30, 30, 30, 30, 30}, "pts", 20.0,
+                null, 0, 0, "Under", "Low", "High variance"),
+            Arguments.of("5/5 tie, fg3m hot take", new int[]{0, 0, 0, 0, 0, 3, 3, 3, 3, 3}, "fg3m", 2.5,
+                3.0, 20, 40, "Over", "Hot take", HOT_TAKE),
+            Arguments.of("5/5 tie, fg3m rare shooter keeps the tie-break", new int[]{0, 0, 0, 0, 0, 3, 3, 3, 3, 3}, "fg3m", 2.5,
+                3.0, 8, 40, "Under", "Low", "High variance"),
+            Arguments.of("fg3m under, season says hot take", new int[]{0, 0, 0, 0, 0, 0, 0, 3, 3, 3}, "fg3m", 2.5,
+                2.5, 16, 40, "Over", "Hot take", HOT_TAKE),
+            Arguments.of("fg3m under, no season data", new int[]{0, 0, 0, 0, 0, 0, 0, 3, 3, 3}, "fg3m", 2.5,
+                2.5, 0, 0, "Under", "Medium", "High variance"),
+            Arguments.of("10/10 over with one big game at the 2-sigma bound", new int[]{50, 20, 20, 20, 20, 20, 20, 20, 20, 20}, "pts", 15.0,
+                null, 0, 0, "Over", "High", "High variance"),
+            Arguments.of("9/10 over, non-integer mean at the 2-sigma bound", new int[]{9, 2, 2, 2, 2, 2, 2, 2, 2, 1}, "ast", 1.5,
+                null, 0, 0, "Over", "High", "High variance"),
+            Arguments.of("8/10 over, high variance, season overrides", new int[]{30, 30, 30, 30, 30, 30, 30, 30, 5, 5}, "pts", 20.0,
+                null, 32, 40, "Over", "High", "High variance"),
+            Arguments.of("8/10 over, high variance, season too weak", new int[]{30, 30, 30, 30, 30, 30, 30, 30, 5, 5}, "pts", 20.0,
+                null, 20, 40, "Over", "Medium", "High variance"),
+            Arguments.of("8/10 under, season under rate overrides", new int[]{5, 5, 5, 5, 5, 5, 5, 5, 30, 30}, "reb", 10.5,
+                null, 8, 40, "Under", "High", "High variance"),
+            Arguments.of("7/10 with 4/5 recent and low variance", new int[]{22, 23, 21, 18, 24, 22, 23, 19, 18, 21}, "pts", 20.5,
+                null, 0, 0, "Over", "High", "Consistent"),
+            Arguments.of("7/10 with 3/5 recent", new int[]{22, 18, 21, 18, 24, 22, 23, 21, 19, 21}, "pts", 20.5,
+                null, 0, 0, "Over", "Medium", "Consistent"),
+            Arguments.of("6/10 is always medium", new int[]{22, 23, 21, 18, 24, 22, 19, 19, 18, 21}, "pts", 20.5,
+                null, 0, 0, "Over", "Medium", "Consistent"),
+            Arguments.of("10/10 under", new int[]{1, 2, 0, 1, 2, 1, 0, 2, 1, 1}, "blk", 2.5,
+                null, 0, 0, "Under", "High", "High variance")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cases")
+    void matchesBaselineTable(String name, int[] values, String stat, double line, Double seasonAvg3pm,
+                              int seasonHits, int seasonTotal, String suggestion, String confidence, String note) {
+        PropPickSuggestionDto got = PlayerService.buildPropSuggestion(values, values.length, stat, stat, line,
+            seasonAvg3pm, null, seasonHits, seasonTotal);
+        assertEquals(suggestion, got.suggestion());
+        assertEquals(confidence, got.confidence());
+        assertEquals(note, got.varianceNote());
+        assertEquals(baseline(values, stat, line, seasonAvg3pm, seasonHits, seasonTotal), got);
+    }
+
+    @Test
+    void matchesBaselineOnRandomWindows() {
+        Random rnd = new Random(42);
+        for (int t = 0; t < 20_000; t++) {
+            int n = 1 + rnd.nextInt(10);
+            int spread = 1 + rnd.nextInt(rnd.nextBoolean() ? 6 : 40);
+            int[] values = new int[n];
+            for (int i = 0; i < n; i++) values[i] = rnd.nextInt(spread);
+            String stat = rnd.nextInt(3) == 0 ? "fg3m" : "pts";
+            double line = rnd.nextInt(spread) + (rnd.nextBoolean() ? 0.5 : 0.0);
+            Double seasonAvg3pm = "fg3m".equals(stat) ? rnd.nextInt(60) / 10.0 : null;
+            int seasonTotal = rnd.nextBoolean() ? 0 : 10 + rnd.nextInt(70);
+            int seasonHits = seasonTotal > 0 ? rnd.nextInt(seasonTotal + 1) : 0;
+            PropPickSuggestionDto got = PlayerService.buildPropSuggestion(values, n, stat, stat, line,
+                seasonAvg3pm, null, seasonHits, seasonTotal);
+            assertEquals(baseline(values, stat, line, seasonAvg3pm, seasonHits, seasonTotal), got,
+                () -> Arrays.toString(values) + " line " + line);
+        }
+    }
+
+    /** The original two-pass, List<Double> implementation of the rules (before running sums). */
+    private static PropPickSuggestionDto baseline(int[] raw, String statKey, double line, Double seasonAvg3pm,
+                                                  int seasonHits, int seasonTotal) {
+        String propLabel = statKey;
+        List<Double> values = Arrays.stream(raw).limit(10).mapToDouble(v -> v).boxed().toList();
+        int n = values.size();
+        int n5 = Math.min(5, n);
+        double last10Avg = values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        double last5Avg = values.stream().limit(5).mapToDouble(Double::doubleValue).average().orElse(0);
+        int hit10 = (int) values.stream().filter(v -> v >= line).count();
+        int over5 = (int) values.stream().limit(5).filter(v -> v >= line).count();
+        double stdDev = stdDev(values);
+        boolean highVariance = n > 1 && stdDev > 0.3 * last10Avg;
+        double maxLast5 = values.stream().limit(5).mapToDouble(Double::doubleValue).max().orElse(0);
+        boolean oneBigGame = n5 >= 3 && maxLast5 > last5Avg + 2 * stdDev(values.stream().limit(5).toList());
+        String varianceNote = oneBigGame ? "One big game in last 5 — tread carefully"
+            : (highVariance ? "High variance" : "Consistent");
+
+        boolean hasSeasonData = seasonTotal >= 10;
+        double seasonHitRate = hasSeasonData ? (double) seasonHits / seasonTotal : 0.0;
+
+        int under10 = 10 - hit10;
+        int under5 = 5 - over5;
+        String suggestion;
+        if (hit10 > under10) {
+            suggestion = "Over";
+        } else if (under10 > hit10) {
+            suggestion = "Under";
+        } else {
+            double recentProjection = 0.6 * last5Avg + 0.4 * last10Avg;
+            if ("fg3m".equals(statKey) && seasonAvg3pm != null && seasonAvg3pm > 0
+                    && (!hasSeasonData || seasonHitRate >= 0.35)
+                    && recentProjection < seasonAvg3pm - 1.0) {
+                return new PropPickSuggestionDto(propLabel, statKey, line, "Over", "Hot take",
+                    Math.round(last10Avg * 10) / 10.0, Math.round(last5Avg * 10) / 10.0, "",
+                    hit10, over5, HOT_TAKE);
+            }
+            suggestion = recentProjection >= line ? "Over" : "Under";
+            return new PropPickSuggestionDto(propLabel, statKey, line, suggestion, "Low",
+                Math.round(last10Avg * 10) / 10.0, Math.round(last5Avg * 10) / 10.0, "",
+                hit10, over5, varianceNote);
+        }
+
+        int hitsFor10 = "Over".equals(suggestion) ? hit10 : under10;
+        int hitsFor5 = "Over".equals(suggestion) ? over5 : under5;
+        double seasonRateFor = "Over".equals(suggestion) ? seasonHitRate
+            : (hasSeasonData ? 1.0 - seasonHitRate : 0.0);
+
+        String confidence;
+        if (hitsFor10 >= 9) {
+            confidence = (oneBigGame && "Over".equals(suggestion)) ? "Medium" : "High";
+        } else if (hitsFor10 == 8) {
+            boolean seasonOverrides = hasSeasonData && seasonRateFor >= 0.75;
+            confidence = (!highVariance || seasonOverrides) ? "High" : "Medium";
+        } else if (hitsFor10 == 7) {
+            confidence = (hitsFor5 >= 4 && !highVariance) ? "High" : "Medium";
+        } else {
+            confidence = "Medium";
+        }
+
+        if ("fg3m".equals(statKey) && "Under".equals(suggestion)
+                && seasonAvg3pm != null && seasonAvg3pm > 0
+                && hasSeasonData && seasonHitRate >= 0.35) {
+            double recentProjection = 0.6 * last5Avg + 0.4 * last10Avg;
+            if (recentProjection < seasonAvg3pm - 1.0) {
+                return new PropPickSuggestionDto(propLabel, statKey, line, "Over", "Hot take",
+                    Math.round(last10Avg * 10) / 10.0, Math.round(last5Avg * 10) / 10.0, "",
+                    hit10, over5, HOT_TAKE);
+            }
+        }
+
+        return new PropPickSuggestionDto(propLabel, statKey, line, suggestion, confidence,
+            Math.round(last10Avg * 10) / 10.0, Math.round(last5Avg * 10) / 10.0, "",
+            hit10, over5, varianceNote);
+    }
+
+    private static double stdDev(List<Double> values) {
+        if (values.size() < 2) return 0;
+        double mean = values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        double variance = values.stream().mapToDouble(v -> Math.pow(v - mean, 2)).sum() / values.size();
+        return Math.sqrt(variance);
+    }
+}
@@ -0,0 +1,115 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.dto.SlateCorrelationDto;
+import com.nbastats.app.dto.TodayPickDto;
+import com.nbastats.app.repository.GameLogJdbcRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlateCorrelationServiceTest {
+
+    private static final LocalDate SLATE = LocalDate.parse("2025-01-10");
+
+    @Test
+    void phiKnownValues() {
+        assertEquals(1.0, SlateCorrelationService.phi(10, 5, 5, 5));
+        assertEquals(-1.0, SlateCorrelationService.phi(10, 5, 5, 0));
+        assertEquals(0.0, SlateCorrelationService.phi(4, 2, 2, 1));
+        // (8*2 - 4*2) / sqrt(4*4*2*6) = 8 / sqrt(192)
+        assertEquals(0.577, SlateCorrelationService.phi(8, 4, 2, 2));
+    }
+
+    @Test
+    void phiIsNullWhenAPickNeverVaries() {
+        assertNull(SlateCorrelationService.phi(6, 0, 3, 0));
+        assertNull(SlateCorrelationService.phi(6, 6, 3, 3));
+        assertNull(SlateCorrelationService.phi(6, 2, 6, 2));
+        assertNull(SlateCorrelationService.phi(0, 0, 0, 0));
+    }
+
+    @Test
+    void fillSkipsDnpAndHonoursUnder() {
+        GameLogColumns timeline = timeline("reb",
+            "2025-01-05", 5, 30,
+            "2025-01-04", 10, null,   // DNP
+            "2025-01-02", 8, 25);
+        int[] days = SlateCorrelationService.dateAxis(List.of(timeline));
+        long[] played = new long[1];
+        long[] hit = new long[1];
+        SlateCorrelationService.fill(pick(1, 1, "reb", 8.5, "Under"), timeline, days, played, hit);
+        assertEquals(0b101L, played[0]); // days: 01-02 (bit 0), 01-04 (bit 1), 01-05 (bit 2)
+        assertEquals(0b101L, hit[0]);
+        SlateCorrelationService.fill(pick(2, 1, "reb", 8, "Over"), timeline, days, played = new long[1], hit = new long[1]);
+        assertEquals(0b101L, played[0]);
+        assertEquals(0b001L, hit[0]); // 8 >= 8 on 01-02
+    }
+
+    @Test
+    void correlatesPicksOnSharedDates() {
+        GameLogColumns p1 = timeline("pts",
+            "2025-01-06", 40, null,   // DNP
+            "2025-01-05", 22, 34,
+            "2025-01-04", 10, 30,
+            "2025-01-03", 30, 36,
+            "2025-01-02", 18, 31,
+            "2025-01-01", 25, 33);
+        GameLogColumns p2 = timeline("reb",
+            "2025-01-06", 7, 20,
+            "2025-01-05", 9, 22,
+            "2025-01-04", 12, 25,
+            "2025-01-03", 6, 21,
+            "2025-01-02", 10, 24,
+            "2025-01-01", 5, 23);
+        GameLogColumns p3 = timeline("ast", "2025-01-06", 7, 28);
+        List<TodayPickDto> picks = List.of(
+            pick(11, 1, "pts", 20.5, "Over"),
+            pick(12, 2, "reb", 8.5, "Under"),
+            pick(13, 3, "ast", 5.5, "Over"));
+        DailyPropLineService lines = mock(DailyPropLineService.class);
+        when(lines.getTodayPicks(SLATE, 0)).thenReturn(picks);
+        GameLogJdbcRepository repo = mock(GameLogJdbcRepository.class);
+        when(repo.findColumnsByPlayerIdsBetween(any(), any(), any())).thenReturn(Map.of(1L, p1, 2L, p2, 3L, p3));
+
+        SlateCorrelationDto dto = new SlateCorrelationService(lines, repo).correlate(SLATE, List.of(), 10, 30, 2);
+
+        assertEquals(5, dto.picks().get(0).games());       // DNP left out
+        assertEquals(0.6, dto.picks().get(0).hitRate());   // 01-01, 01-03, 01-05
+        assertEquals(6, dto.picks().get(1).games());
+        assertEquals(0.5, dto.picks().get(1).hitRate());   // under on 01-01, 01-03, 01-06
+        assertArrayEquals(new int[]{5, 5, 0}, dto.sharedGames()[0]);
+        assertArrayEquals(new int[]{5, 6, 1}, dto.sharedGames()[1]);
+        // Shared 01-01..01-05: pick 1 hits 3, pick 2 hits 2, both hit on 2.
+        assertEquals(0.4, dto.jointHitRate()[0][1]);
+        assertEquals(0.667, dto.phi()[0][1]);              // (5*2 - 3*2) / sqrt(3*2*2*3)
+        assertEquals(dto.phi()[0][1], dto.phi()[1][0]);
+        assertEquals(1.0, dto.phi()[0][0]);
+        assertNull(dto.phi()[1][2]);                       // one shared game < minShared
+        assertNull(dto.jointHitRate()[0][2]);
+    }
+
+    private static TodayPickDto pick(long id, long playerId, String stat, double line, String suggestion) {
+        return new TodayPickDto(id, "Player " + playerId, playerId, stat, stat, line, suggestion, "High", "", "LAL", 5, 3);
+    }
+
+    /** One stat over dates listed newest first as (date, value, minutes or null for DNP) triples. */
+    private static GameLogColumns timeline(String stat, Object... games) {
+        GameLogColumns.Builder b = new GameLogColumns.Builder(1, "2024-25", games.length / 3);
+        for (int g = 0; g < games.length; g += 3) {
+            int v = (Integer) games[g + 1];
+            b.add(g, "g" + g, LocalDate.parse((String) games[g]), "LAL vs. BOS", "H", "LAL", "BOS", "W",
+                (Integer) games[g + 2],
+                "pts".equals(stat) ? v : 0, "reb".equals(stat) ? v : 0, "ast".equals(stat) ? v : 0, 0, 0, 0, 0, 0);
+        }
+        return b.build();
+    }
+}
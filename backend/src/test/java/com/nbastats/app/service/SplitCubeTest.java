@@ -0,0 +1,68 @@
+package com.nbastats.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import static com.nbastats.app.service.TestGames.game;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SplitCubeTest {
+
+    private static final int PTS = PlayerService.getAllowedStats().indexOf("pts");
+    private static final int AST = PlayerService.getAllowedStats().indexOf("ast");
+
+    // Newest first. Rest = days off before the game: 0 = b2b; the oldest game counts as rested (2+).
+    private static final GameLogColumns WEEK = TestGames.columns(
+        game("2025-01-10", "A", "BOS", "W", 30, 5, 7, 3),  // b2b
+        game("2025-01-09", "H", "BOS", "L", 20, 8, 4, 1),  // 1 day off
+        game("2025-01-07", "A", "NYK", "W", 25, 6, 9, 2),  // b2b
+        game("2025-01-06", "A", "SEA", "L", 10, 3, 2, 0),  // 3 days off -> 2+, SEA -> OTHER
+        game("2025-01-02", "H", "NYK", "W", 15, 4, 5, 1)   // first game -> 2+
+    );
+
+    @Test
+    void awayBackToBackSlice() {
+        SplitCube cube = WEEK.splits();
+        SplitCube.Slice slice = cube.slice(-1, SplitCube.parse("venue", "away"), SplitCube.parse("rest", "b2b"), -1);
+        assertEquals(2, slice.games());
+        assertEquals(55, slice.sum(PTS));
+        assertEquals(16, slice.sum(AST));
+        assertEquals(2, cube.hits(slice, "pts", 24.5));
+        assertEquals(2, cube.hits(slice, "pts", 25)); // at the line counts as a hit
+        assertEquals(1, cube.hits(slice, "pts", 25.5));
+        assertEquals(0, cube.hits(slice, "pts", 30.5));
+    }
+
+    @Test
+    void singleCoordinateSlices() {
+        SplitCube cube = WEEK.splits();
+        assertSlice(cube.slice(-1, -1, -1, -1), 5, 100);
+        assertSlice(cube.slice(SplitCube.parse("opponent", "bos"), -1, -1, -1), 2, 50);
+        assertSlice(cube.slice(SplitCube.parse("opponent", "OTHER"), -1, -1, -1), 1, 10);
+        assertSlice(cube.slice(-1, SplitCube.parse("venue", "home"), -1, -1), 2, 35);
+        assertSlice(cube.slice(-1, -1, SplitCube.parse("rest", "1"), -1), 1, 20);
+        assertSlice(cube.slice(-1, -1, SplitCube.parse("rest", "2+"), -1), 2, 25);
+        assertSlice(cube.slice(-1, -1, -1, SplitCube.parse("result", "l")), 2, 30);
+        assertSlice(cube.slice(SplitCube.parse("opponent", "NYK"), SplitCube.parse("venue", "home"), -1,
+            SplitCube.parse("result", "L")), 0, 0);
+    }
+
+    @Test
+    void hitsReachGamesPastTheFirstMaskWord() {
+        int[] pts = new int[70];
+        for (int i = 0; i < pts.length; i++) pts[i] = i; // index i scores i
+        SplitCube cube = TestGames.pts(pts).splits();
+        SplitCube.Slice all = cube.slice(-1, -1, -1, -1);
+        assertEquals(70, all.games());
+        assertEquals(6, cube.hits(all, "pts", 63.5)); // indexes 64..69, all in the second word
+        assertEquals(70, cube.hits(all, "pts", 0));
+        SplitCube.Slice rested = cube.slice(-1, -1, SplitCube.parse("rest", "2+"), -1);
+        assertEquals(1, rested.games()); // only the oldest game (index 69) is not a back-to-back
+        assertEquals(69, rested.sum(PTS));
+        assertEquals(1, cube.hits(rested, "pts", 69));
+    }
+
+    private static void assertSlice(SplitCube.Slice slice, int games, long pts) {
+        assertEquals(games, slice.games());
+        assertEquals(pts, slice.sum(PTS));
+    }
+}
@@ -0,0 +1,38 @@
+package com.nbastats.app.service;
+
+import java.time.LocalDate;
+
+/** Hand-built {@link GameLogColumns} for unit tests. */
+final class TestGames {
+
+    private TestGames() {}
+
+    /** One box score; only the fields the kernels under test read. */
+    record Game(LocalDate date, String homeAway, String opponent, String wl, int pts, int reb, int ast, int fg3m) {}
+
+    static Game game(String date, String homeAway, String opponent, String wl, int pts, int reb, int ast, int fg3m) {
+        return new Game(LocalDate.parse(date), homeAway, opponent, wl, pts, reb, ast, fg3m);
+    }
+
+    /** Columns for player 1, season 2024-25, from games listed newest first (the store's order). */
+    static GameLogColumns columns(Game... newestFirst) {
+        GameLogColumns.Builder b = new GameLogColumns.Builder(1, "2024-25", newestFirst.length);
+        for (int i = 0; i < newestFirst.length; i++) {
+            Game g = newestFirst[i];
+            String matchup = "LAL " + ("H".equals(g.homeAway()) ? "vs. " : "@ ") + g.opponent();
+            b.add(i + 1, "00224" + i, g.date(), matchup, g.homeAway(), "LAL", g.opponent(), g.wl(), 30,
+                g.pts(), g.reb(), g.ast(), g.fg3m(), g.fg3m(), 0, 0, 0);
+        }
+        return b.build();
+    }
+
+    /** Points only (newest first), one game a day; every other stat is zero. */
+    static GameLogColumns pts(int... newestFirst) {
+        Game[] games = new Game[newestFirst.length];
+        LocalDate newest = LocalDate.of(2025, 4, 1);
+        for (int i = 0; i < games.length; i++) {
+            games[i] = new Game(newest.minusDays(i), "H", "BOS", "W", newestFirst[i], 0, 0, 0);
+        }
+        return columns(games);
+    }
+}
@@ -0,0 +1,81 @@
+package com.nbastats.app.service;
+
+import com.nbastats.app.dto.TrendStatDto;
+import com.nbastats.app.dto.TrendWindowDto;
+import com.nbastats.app.dto.TrendsDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import static com.nbastats.app.service.TestGames.game;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrendsTest {
+
+    @Test
+    void threeGameRollingWindow() {
+        TrendWindowDto w = PlayerService.rolling(new int[]{1, 2, 3, 4, 10}, 3);
+        assertEquals(3, w.window());
+        assertArrayEquals(new Double[]{null, null, 2.0, 3.0, 5.67}, w.mean());
+        // Population sd of (1,2,3) and (2,3,4) is sqrt(2/3); of (3,4,10) it is sqrt(86/9).
+        assertArrayEquals(new Double[]{null, null, 0.82, 0.82, 3.09}, w.stdDev());
+    }
+
+    @Test
+    void windowLargerThanSeriesStaysEmpty() {
+        TrendWindowDto w = PlayerService.rolling(new int[]{5, 6}, 3);
+        assertArrayEquals(new Double[]{null, null}, w.mean());
+        assertArrayEquals(new Double[]{null, null}, w.stdDev());
+    }
+
+    @Test
+    void runningSumsMatchRecomputingEachWindow() {
+        Random rnd = new Random(7);
+        int[] values = new int[120];
+        for (int i = 0; i < values.length; i++) values[i] = rnd.nextInt(45);
+        for (int window : new int[]{1, 2, 5, 10, 37, 120}) {
+            TrendWindowDto w = PlayerService.rolling(values, window);
+            for (int t = 0; t < values.length; t++) {
+                if (t < window - 1) {
+                    assertNull(w.mean()[t]);
+                    continue;
+                }
+                double sum = 0;
+                for (int i = t - window + 1; i <= t; i++) sum += values[i];
+                double mean = sum / window;
+                double sq = 0;
+                for (int i = t - window + 1; i <= t; i++) sq += (values[i] - mean) * (values[i] - mean);
+                double sd = window < 2 ? 0 : Math.sqrt(sq / window);
+                assertEquals(Math.round(mean * 100) / 100.0, w.mean()[t], 1e-9, "window " + window + " at " + t);
+                assertEquals(Math.round(sd * 100) / 100.0, w.stdDev()[t], 1e-9, "window " + window + " at " + t);
+            }
+        }
+    }
+
+    @Test
+    void seriesRunOldestFirst() {
+        GameLogStore store = mock(GameLogStore.class);
+        when(store.get(1L, "2024-25")).thenReturn(TestGames.columns(
+            game("2025-01-10", "A", "BOS", "W", 30, 5, 7, 3),
+            game("2025-01-09", "H", "NYK", "L", 20, 8, 4, 1),
+            game("2025-01-07", "A", "MIA", "W", 25, 6, 9, 2)));
+        PlayerService service = new PlayerService(null, null, store, null, null);
+
+        TrendsDto trends = service.getTrends(1L, List.of("2024-25"), List.of("pts", "ast"), List.of(2));
+        assertEquals(3, trends.gamesPlayed());
+        assertEquals(List.of(LocalDate.parse("2025-01-07"), LocalDate.parse("2025-01-09"), LocalDate.parse("2025-01-10")),
+            trends.dates());
+        assertEquals(List.of("MIA", "NYK", "BOS"), trends.opponents());
+        TrendStatDto pts = trends.stats().get(0);
+        assertArrayEquals(new int[]{25, 20, 30}, pts.values());
+        assertArrayEquals(new Double[]{null, 22.5, 25.0}, pts.windows().get(0).mean());
+        assertArrayEquals(new Double[]{null, 2.5, 5.0}, pts.windows().get(0).stdDev());
+        assertArrayEquals(new int[]{9, 4, 7}, trends.stats().get(1).values());
+    }
+}
@@ -51,15 +51,30 @@ CREATE TABLE IF NOT EXISTS player_game_logs (
 );
 
 CREATE INDEX IF NOT EXISTS idx_pgl_player_season ON player_game_logs (player_id, season);
-CREATE INDEX IF NOT EXISTS idx_pgl_player_date ON player_game_logs (player_id, game_date DESC);
+-- id breaks ties within a date, so game-log pages can seek on (game_date, id) straight from the index.
+-- Supersedes idx_pgl_player_date (player_id, game_date DESC), which is its prefix.
+CREATE INDEX IF NOT EXISTS idx_pgl_player_date_id ON player_game_logs (player_id, game_date DESC, id DESC);
+DROP INDEX IF EXISTS idx_pgl_player_date;
 CREATE INDEX IF NOT EXISTS idx_pgl_opponent ON player_game_logs (player_id, opponent_abbr);
 
--- Optional: cache season aggregates per player (refreshed by ingestion or a scheduled job)
+-- Season aggregates per player, kept current by the player_game_logs_season_stats trigger below
 CREATE TABLE IF NOT EXISTS player_season_stats (
     id              BIGSERIAL PRIMARY KEY,
     player_id       BIGINT NOT NULL REFERENCES players(id) ON DELETE CASCADE,
     season          VARCHAR(9) NOT NULL,
     games_played    INTEGER NOT NULL DEFAULT 0,
+    pts_sum         INTEGER NOT NULL DEFAULT 0,
+    reb_sum         INTEGER NOT NULL DEFAULT 0,
+    ast_sum         INTEGER NOT NULL DEFAULT 0,
+    stl_sum         INTEGER NOT NULL DEFAULT 0,
+    blk_sum         INTEGER NOT NULL DEFAULT 0,
+    tov_sum         INTEGER NOT NULL DEFAULT 0,
+    fgm_sum         INTEGER NOT NULL DEFAULT 0,
+    fga_sum         INTEGER NOT NULL DEFAULT 0,
+    fg3m_sum        INTEGER NOT NULL DEFAULT 0,
+    fg3a_sum        INTEGER NOT NULL DEFAULT 0,
+    ftm_sum         INTEGER NOT NULL DEFAULT 0,
+    fta_sum         INTEGER NOT NULL DEFAULT 0,
     pts_avg         NUMERIC(5,2) NOT NULL DEFAULT 0,
     reb_avg         NUMERIC(5,2) NOT NULL DEFAULT 0,
     ast_avg         NUMERIC(5,2) NOT NULL DEFAULT 0,
@@ -75,6 +90,20 @@ CREATE TABLE IF NOT EXISTS player_season_stats (
 
 CREATE INDEX IF NOT EXISTS idx_pss_player ON player_season_stats (player_id);
 
+-- Running-sum columns when upgrading from an older schema (idempotent)
+ALTER TABLE player_season_stats ADD COLUMN IF NOT EXISTS pts_sum INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE player_season_stats ADD COLUMN IF NOT EXISTS reb_sum INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE player_season_stats ADD COLUMN IF NOT EXISTS ast_sum INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE player_season_stats ADD COLUMN IF NOT EXISTS stl_sum INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE player_season_stats ADD COLUMN IF NOT EXISTS blk_sum INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE player_season_stats ADD COLUMN IF NOT EXISTS tov_sum INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE player_season_stats ADD COLUMN IF NOT EXISTS fgm_sum INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE player_season_stats ADD COLUMN IF NOT EXISTS fga_sum INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE player_season_stats ADD COLUMN IF NOT EXISTS fg3m_sum INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE player_season_stats ADD COLUMN IF NOT EXISTS fg3a_sum INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE player_season_stats ADD COLUMN IF NOT EXISTS ftm_sum INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE player_season_stats ADD COLUMN IF NOT EXISTS fta_sum INTEGER NOT NULL DEFAULT 0;
+
 -- Daily prop lines: you provide ~30 lines per day; we compute Over/Under suggestion and show best on homepage
 CREATE TABLE IF NOT EXISTS daily_prop_lines (
     id              BIGSERIAL PRIMARY KEY,
@@ -96,6 +125,14 @@ CREATE INDEX IF NOT EXISTS idx_dpl_line_date ON daily_prop_lines (line_date);
 ALTER TABLE daily_prop_lines ADD COLUMN IF NOT EXISTS hit_rate_last_10 INTEGER;
 ALTER TABLE daily_prop_lines ADD COLUMN IF NOT EXISTS over_last_5 INTEGER;
 
+-- One line per player, stat and date; re-posting a slate updates in place. Keep the newest row of any
+-- duplicates left by older versions, then enforce (idempotent)
+DELETE FROM daily_prop_lines d
+USING daily_prop_lines newer
+WHERE newer.player_id = d.player_id AND newer.stat_key = d.stat_key AND newer.line_date = d.line_date
+  AND newer.id > d.id;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_dpl_player_stat_date ON daily_prop_lines (player_id, stat_key, line_date);
+
 -- Trigger to keep updated_at current (optional)
 CREATE OR REPLACE FUNCTION set_updated_at()
 RETURNS TRIGGER AS $$
@@ -114,3 +151,198 @@ DROP TRIGGER IF EXISTS player_game_logs_updated_at ON player_game_logs;
 CREATE TRIGGER player_game_logs_updated_at
     BEFORE UPDATE ON player_game_logs
     FOR EACH ROW EXECUTE PROCEDURE set_updated_at();
+
+-- Keep player_season_stats current: each insert/update/delete on player_game_logs adds or removes
+-- that game's box score from the running sums, then re-derives the averages from the sums.
+CREATE OR REPLACE FUNCTION apply_game_to_season_stats(g player_game_logs, delta INTEGER)
+RETURNS VOID AS $$
+BEGIN
+    IF delta > 0 THEN
+        INSERT INTO player_season_stats AS s (
+            player_id, season, games_played, pts_sum, reb_sum, ast_sum, stl_sum, blk_sum, tov_sum,
+            fgm_sum, fga_sum, fg3m_sum, fg3a_sum, ftm_sum, fta_sum
+        ) VALUES (
+            g.player_id, g.season, 1, g.pts, g.reb, g.ast, g.stl, g.blk, g.tov,
+            g.fgm, g.fga, g.fg3m, g.fg3a, g.ftm, g.fta
+        )
+        ON CONFLICT (player_id, season) DO UPDATE SET
+            games_played = s.games_played + 1,
+            pts_sum = s.pts_sum + EXCLUDED.pts_sum,
+            reb_sum = s.reb_sum + EXCLUDED.reb_sum,
+            ast_sum = s.ast_sum + EXCLUDED.ast_sum,
+            stl_sum = s.stl_sum + EXCLUDED.stl_sum,
+            blk_sum = s.blk_sum + EXCLUDED.blk_sum,
+            tov_sum = s.tov_sum + EXCLUDED.tov_sum,
+            fgm_sum = s.fgm_sum + EXCLUDED.fgm_sum,
+            fga_sum = s.fga_sum + EXCLUDED.fga_sum,
+            fg3m_sum = s.fg3m_sum + EXCLUDED.fg3m_sum,
+            fg3a_sum = s.fg3a_sum + EXCLUDED.fg3a_sum,
+            ftm_sum = s.ftm_sum + EXCLUDED.ftm_sum,
+            fta_sum = s.fta_sum + EXCLUDED.fta_sum;
+    ELSE
+        UPDATE player_season_stats SET
+            games_played = games_played - 1,
+            pts_sum = pts_sum - g.pts,
+            reb_sum = reb_sum - g.reb,
+            ast_sum = ast_sum - g.ast,
+            stl_sum = stl_sum - g.stl,
+            blk_sum = blk_sum - g.blk,
+            tov_sum = tov_sum - g.tov,
+            fgm_sum = fgm_sum - g.fgm,
+            fga_sum = fga_sum - g.fga,
+            fg3m_sum = fg3m_sum - g.fg3m,
+            fg3a_sum = fg3a_sum - g.fg3a,
+            ftm_sum = ftm_sum - g.ftm,
+            fta_sum = fta_sum - g.fta
+        WHERE player_id = g.player_id AND season = g.season;
+    END IF;
+    PERFORM refresh_season_stats_averages(g.player_id, g.season);
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION refresh_season_stats_averages(p_player_id BIGINT, p_season VARCHAR)
+RETURNS VOID AS $$
+BEGIN
+    UPDATE player_season_stats SET
+        pts_avg = CASE WHEN games_played > 0 THEN ROUND(pts_sum::numeric / games_played, 2) ELSE 0 END,
+        reb_avg = CASE WHEN games_played > 0 THEN ROUND(reb_sum::numeric / games_played, 2) ELSE 0 END,
+        ast_avg = CASE WHEN games_played > 0 THEN ROUND(ast_sum::numeric / games_played, 2) ELSE 0 END,
+        stl_avg = CASE WHEN games_played > 0 THEN ROUND(stl_sum::numeric / games_played, 2) ELSE 0 END,
+        blk_avg = CASE WHEN games_played > 0 THEN ROUND(blk_sum::numeric / games_played, 2) ELSE 0 END,
+        tov_avg = CASE WHEN games_played > 0 THEN ROUND(tov_sum::numeric / games_played, 2) ELSE 0 END,
+        fg_pct = CASE WHEN fga_sum > 0 THEN ROUND(fgm_sum::numeric / fga_sum, 3) END,
+        fg3_pct = CASE WHEN fg3a_sum > 0 THEN ROUND(fg3m_sum::numeric / fg3a_sum, 3) END,
+        ft_pct = CASE WHEN fta_sum > 0 THEN ROUND(ftm_sum::numeric / fta_sum, 3) END,
+        updated_at = NOW()
+    WHERE player_id = p_player_id AND season = p_season;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION player_game_logs_season_stats()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.player_id = NEW.player_id AND OLD.season = NEW.season THEN
+        -- Same player-season: apply the difference in one write instead of a -1 and a +1 pass
+        UPDATE player_season_stats SET
+            pts_sum = pts_sum + NEW.pts - OLD.pts,
+            reb_sum = reb_sum + NEW.reb - OLD.reb,
+            ast_sum = ast_sum + NEW.ast - OLD.ast,
+            stl_sum = stl_sum + NEW.stl - OLD.stl,
+            blk_sum = blk_sum + NEW.blk - OLD.blk,
+            tov_sum = tov_sum + NEW.tov - OLD.tov,
+            fgm_sum = fgm_sum + NEW.fgm - OLD.fgm,
+            fga_sum = fga_sum + NEW.fga - OLD.fga,
+            fg3m_sum = fg3m_sum + NEW.fg3m - OLD.fg3m,
+            fg3a_sum = fg3a_sum + NEW.fg3a - OLD.fg3a,
+            ftm_sum = ftm_sum + NEW.ftm - OLD.ftm,
+            fta_sum = fta_sum + NEW.fta - OLD.fta
+        WHERE player_id = NEW.player_id AND season = NEW.season;
+        PERFORM refresh_season_stats_averages(NEW.player_id, NEW.season);
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM apply_game_to_season_stats(OLD, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM apply_game_to_season_stats(NEW, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Updates only touch the sums when a summed column (or the player-season) changed; a rewrite that just bumps
+-- updated_at or edits matchup/plus_minus leaves the player_season_stats row alone
+DROP TRIGGER IF EXISTS player_game_logs_season_stats ON player_game_logs;
+CREATE TRIGGER player_game_logs_season_stats
+    AFTER INSERT OR DELETE ON player_game_logs
+    FOR EACH ROW EXECUTE PROCEDURE player_game_logs_season_stats();
+
+DROP TRIGGER IF EXISTS player_game_logs_season_stats_update ON player_game_logs;
+CREATE TRIGGER player_game_logs_season_stats_update
+    AFTER UPDATE ON player_game_logs
+    FOR EACH ROW
+    WHEN ((OLD.player_id, OLD.season, OLD.pts, OLD.reb, OLD.ast, OLD.stl, OLD.blk, OLD.tov,
+           OLD.fgm, OLD.fga, OLD.fg3m, OLD.fg3a, OLD.ftm, OLD.fta)
+          IS DISTINCT FROM
+          (NEW.player_id, NEW.season, NEW.pts, NEW.reb, NEW.ast, NEW.stl, NEW.blk, NEW.tov,
+           NEW.fgm, NEW.fga, NEW.fg3m, NEW.fg3a, NEW.ftm, NEW.fta))
+    EXECUTE PROCEDURE player_game_logs_season_stats();
+
+-- Resync running sums from player_game_logs (fills them in on upgrade; safe to re-run)
+INSERT INTO player_season_stats (
+    player_id, season, games_played, pts_sum, reb_sum, ast_sum, stl_sum, blk_sum, tov_sum,
+    fgm_sum, fga_sum, fg3m_sum, fg3a_sum, ftm_sum, fta_sum
+)
+SELECT player_id, season, COUNT(*), SUM(pts), SUM(reb), SUM(ast), SUM(stl), SUM(blk), SUM(tov),
+       SUM(fgm), SUM(fga), SUM(fg3m), SUM(fg3a), SUM(ftm), SUM(fta)
+FROM player_game_logs
+GROUP BY player_id, season
+ON CONFLICT (player_id, season) DO UPDATE SET
+    games_played = EXCLUDED.games_played,
+    pts_sum = EXCLUDED.pts_sum,
+    reb_sum = EXCLUDED.reb_sum,
+    ast_sum = EXCLUDED.ast_sum,
+    stl_sum = EXCLUDED.stl_sum,
+    blk_sum = EXCLUDED.blk_sum,
+    tov_sum = EXCLUDED.tov_sum,
+    fgm_sum = EXCLUDED.fgm_sum,
+    fga_sum = EXCLUDED.fga_sum,
+    fg3m_sum = EXCLUDED.fg3m_sum,
+    fg3a_sum = EXCLUDED.fg3a_sum,
+    ftm_sum = EXCLUDED.ftm_sum,
+    fta_sum = EXCLUDED.fta_sum;
+
+SELECT refresh_season_stats_averages(player_id, season) FROM player_season_stats;
+
+-- Cache invalidation: notify backends (channel nbastats_invalidate) which entries a write touched.
+-- Payloads: game_log:<player_id>:<season>, player:<player_id>, daily_lines:<line_date>:<txid> (the writing
+-- transaction, so a backend can skip events its picks snapshot was already read after).
+-- Postgres folds identical payloads within a transaction, so a bulk upsert sends one event per player-season.
+CREATE OR REPLACE FUNCTION notify_game_log_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM pg_notify('nbastats_invalidate', 'game_log:' || OLD.player_id || ':' || OLD.season);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM pg_notify('nbastats_invalidate', 'game_log:' || NEW.player_id || ':' || NEW.season);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS player_game_logs_notify ON player_game_logs;
+CREATE TRIGGER player_game_logs_notify
+    AFTER INSERT OR UPDATE OR DELETE ON player_game_logs
+    FOR EACH ROW EXECUTE PROCEDURE notify_game_log_change();
+
+CREATE OR REPLACE FUNCTION notify_player_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('nbastats_invalidate', 'player:' || COALESCE(NEW.id, OLD.id));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS players_notify ON players;
+CREATE TRIGGER players_notify
+    AFTER INSERT OR UPDATE OR DELETE ON players
+    FOR EACH ROW EXECUTE PROCEDURE notify_player_change();
+
+CREATE OR REPLACE FUNCTION notify_daily_lines_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM pg_notify('nbastats_invalidate', 'daily_lines:' || OLD.line_date || ':' || txid_current());
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM pg_notify('nbastats_invalidate', 'daily_lines:' || NEW.line_date || ':' || txid_current());
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS daily_prop_lines_notify ON daily_prop_lines;
+CREATE TRIGGER daily_prop_lines_notify
+    AFTER INSERT OR UPDATE OR DELETE ON daily_prop_lines
+    FOR EACH ROW EXECUTE PROCEDURE notify_daily_lines_change();
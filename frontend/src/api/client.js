@@ -39,17 +39,49 @@ export const api = {
   getPlayer(id) {
     return request(`/players/${id}`)
   },
-  getGames(playerId, season = '2024-25') {
-    return request(`/players/${playerId}/games?season=${encodeURIComponent(season)}`)
+  /** Optional `fields` (e.g. ['gameDate', 'pts']) narrows the payload; `layout: 'columns'` returns one array per field. */
+  getGames(playerId, season = '2024-25', { fields, layout } = {}) {
+    const params = new URLSearchParams({ season })
+    if (fields?.length) params.set('fields', fields.join(','))
+    if (layout) params.set('layout', layout)
+    return request(`/players/${playerId}/games?${params}`)
   },
   getStats(playerId, season = '2024-25') {
     return request(`/players/${playerId}/stats?season=${encodeURIComponent(season)}`)
   },
+  /** Season averages for many players in one request: { [playerId]: SeasonStats } */
+  getStatsBatch(playerIds, season = '2024-25') {
+    return request('/players/stats:batch', { method: 'POST', body: JSON.stringify({ playerIds, season }) })
+  },
   getOverUnder(playerId, { season = '2024-25', stat = 'pts', threshold = 25, lastN } = {}) {
     let path = `/players/${playerId}/over-under?season=${encodeURIComponent(season)}&stat=${encodeURIComponent(stat)}&threshold=${threshold}`
     if (lastN != null && lastN > 0) path += `&lastN=${lastN}`
     return request(path)
   },
+  getOverUnderLadder(playerId, { season = '2024-25', stat = 'pts', lastN } = {}) {
+    let path = `/players/${playerId}/over-under/ladder?season=${encodeURIComponent(season)}&stat=${encodeURIComponent(stat)}`
+    if (lastN != null && lastN > 0) path += `&lastN=${lastN}`
+    return request(path)
+  },
+  /** Splits by opponent/venue/rest/result. filters: { opponent, venue, rest, result }; lines: { pts: 24.5, ... }. */
+  getSplits(playerId, { season = '2024-25', by, filters = {}, lines = {} } = {}) {
+    const params = new URLSearchParams({ season })
+    if (by) params.set('by', by)
+    for (const [k, v] of Object.entries({ ...filters, ...lines })) {
+      if (v != null && v !== '') params.set(k, v)
+    }
+    return request(`/players/${playerId}/splits?${params}`)
+  },
+  getGameLogPage(playerId, { seasons = [], cursor, limit = 50 } = {}) {
+    const params = new URLSearchParams({ limit })
+    if (seasons.length) params.set('seasons', seasons.join(','))
+    if (cursor) params.set('cursor', cursor)
+    return request(`/players/${playerId}/games/page?${params}`)
+  },
+  getTrends(playerId, { seasons = ['2024-25'], stats = ['pts'], windows = [5, 10] } = {}) {
+    const params = new URLSearchParams({ seasons: seasons.join(','), stats: stats.join(','), windows: windows.join(',') })
+    return request(`/players/${playerId}/trends?${params}`)
+  },
   getPropPicks(playerId, { season = '2024-25', ptsRebAst, ptsAst, rebAst } = {}) {
     const params = new URLSearchParams({ season })
     if (ptsRebAst != null && ptsRebAst !== '') params.set('ptsRebAst', ptsRebAst)
@@ -64,6 +96,13 @@ export const api = {
     const qs = params.toString() ? `?${params.toString()}` : ''
     return request(`/today-picks${qs}`)
   },
+  /** Pairwise joint hit rates / phi for a slate's picks: { picks, sharedGames, jointHitRate, phi } */
+  getPickCorrelation({ date, ids, limit = 30, lookbackDays = 365 } = {}) {
+    const params = new URLSearchParams({ limit, lookbackDays })
+    if (date) params.set('date', date)
+    if (ids?.length) params.set('ids', ids.join(','))
+    return request(`/today-picks/correlation?${params}`)
+  },
   addDailyLines(body) {
     return request('/admin/daily-lines', { method: 'POST', body: JSON.stringify(body) })
   },
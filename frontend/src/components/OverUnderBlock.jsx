@@ -11,6 +11,33 @@ const STAT_OPTIONS = [
   { value: 'pts_reb_ast', label: 'Pts+Reb+Ast' },
 ]
 
+/**
+ * Over/under result for any threshold from a hit-rate ladder (same shape as the /over-under response).
+ * Stats are whole numbers, so threshold t counts like the half-point rung at ceil(t) - 0.5.
+ */
+export function overUnderFromLadder(ladder, threshold) {
+  if (!ladder) return null
+  const total = ladder.totalGames
+  let over = 0
+  if (total > 0) {
+    const target = Math.ceil(threshold) - 0.5
+    const rungs = ladder.rungs
+    if (target < rungs[0].line) over = total
+    else if (target <= rungs[rungs.length - 1].line) over = rungs[target - rungs[0].line].gamesOver
+  }
+  const under = total - over
+  return {
+    stat: ladder.stat,
+    threshold,
+    totalGames: total,
+    gamesOver: over,
+    gamesUnder: under,
+    probabilityOver: total > 0 ? over / total : 0,
+    probabilityUnder: total > 0 ? under / total : 0,
+    lastN: ladder.lastN,
+  }
+}
+
 export default function OverUnderBlock({
   overUnder,
   stat,
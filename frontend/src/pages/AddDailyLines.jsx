@@ -77,7 +77,7 @@ export default function AddDailyLines() {
         </div>
       </form>
       {error && <p style={{ color: '#c41e3a', marginTop: '1rem' }}>{error}</p>}
-      {result && <p style={{ color: '#0a0', marginTop: '1rem' }}>Saved {result.saved} picks for {result.date}.</p>}
+      {result && <p style={{ color: '#0a0', marginTop: '1rem' }}>Saved {result.saved} picks for {result.date} ({result.inserted} new, {result.updated} updated, {result.unchanged} unchanged).</p>}
     </div>
   )
 }
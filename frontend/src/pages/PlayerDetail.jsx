@@ -1,9 +1,9 @@
-import { useState, useEffect } from 'react'
+import { useState, useEffect, useMemo } from 'react'
 import { useParams, Link } from 'react-router-dom'
 import { api, getCurrentSeason } from '../api/client'
 import GameLogTable from '../components/GameLogTable'
 import SeasonStats from '../components/SeasonStats'
-import OverUnderBlock from '../components/OverUnderBlock'
+import OverUnderBlock, { overUnderFromLadder } from '../components/OverUnderBlock'
 import PointsChart from '../components/PointsChart'
 
 const HEADSHOT_URL = (nbaId) => `https://cdn.nba.com/headshots/nba/latest/260x190/${nbaId}.png`
@@ -28,7 +28,7 @@ export default function PlayerDetail() {
   const [player, setPlayer] = useState(null)
   const [games, setGames] = useState([])
   const [stats, setStats] = useState(null)
-  const [overUnder, setOverUnder] = useState(null)
+  const [ladder, setLadder] = useState(null)
   const season = getCurrentSeason()
   const [overUnderStat, setOverUnderStat] = useState('pts')
   const [overUnderThreshold, setOverUnderThreshold] = useState(25)
@@ -52,18 +52,21 @@ export default function PlayerDetail() {
       api.getPlayer(id),
       api.getGames(id, season),
       api.getStats(id, season),
-      api.getOverUnder(id, { season, stat: overUnderStat, threshold: overUnderThreshold, lastN }),
+      api.getOverUnderLadder(id, { season, stat: overUnderStat, lastN }),
     ])
-      .then(([p, g, s, ou]) => {
+      .then(([p, g, s, l]) => {
         setPlayer(p)
         setGames(g || [])
         setStats(s)
-        setOverUnder(ou)
+        setLadder(l)
         if (p?.fullName) document.title = `${p.fullName} – NBA Player Analytics`
       })
       .catch((err) => setError(err.message))
       .finally(() => setLoading(false))
-  }, [id, season, overUnderStat, overUnderThreshold, lastN, retry])
+  }, [id, season, overUnderStat, lastN, retry])
+
+  // The ladder covers every line, so changing the threshold needs no request.
+  const overUnder = useMemo(() => overUnderFromLadder(ladder, overUnderThreshold), [ladder, overUnderThreshold])
 
   if (loading && !player) {
     return <p>Loading…</p>
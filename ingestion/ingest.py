@@ -422,6 +422,22 @@ def upsert_game_logs(conn, player_id: int, rows: list[dict]):
                 pf = EXCLUDED.pf,
                 plus_minus = EXCLUDED.plus_minus,
                 updated_at = NOW()
+            -- Unchanged games are left alone: no updated_at bump (ETags), season-stats trigger or NOTIFY
+            WHERE (
+                player_game_logs.game_date, player_game_logs.season, player_game_logs.matchup,
+                player_game_logs.home_away, player_game_logs.team_abbr, player_game_logs.opponent_abbr,
+                player_game_logs.wl, player_game_logs.min_played, player_game_logs.pts,
+                player_game_logs.reb, player_game_logs.ast, player_game_logs.stl, player_game_logs.blk,
+                player_game_logs.tov, player_game_logs.fgm, player_game_logs.fga, player_game_logs.fg3m,
+                player_game_logs.fg3a, player_game_logs.ftm, player_game_logs.fta, player_game_logs.oreb,
+                player_game_logs.dreb, player_game_logs.pf, player_game_logs.plus_minus
+            ) IS DISTINCT FROM (
+                EXCLUDED.game_date, EXCLUDED.season, EXCLUDED.matchup, EXCLUDED.home_away,
+                EXCLUDED.team_abbr, EXCLUDED.opponent_abbr, EXCLUDED.wl, EXCLUDED.min_played,
+                EXCLUDED.pts, EXCLUDED.reb, EXCLUDED.ast, EXCLUDED.stl, EXCLUDED.blk, EXCLUDED.tov,
+                EXCLUDED.fgm, EXCLUDED.fga, EXCLUDED.fg3m, EXCLUDED.fg3a, EXCLUDED.ftm, EXCLUDED.fta,
+                EXCLUDED.oreb, EXCLUDED.dreb, EXCLUDED.pf, EXCLUDED.plus_minus
+            )
             """,
             values,
             template="(%s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s)",
@@ -429,55 +445,6 @@ def upsert_game_logs(conn, player_id: int, rows: list[dict]):
     return len(values)
 
 
-def upsert_player_season_stats(conn, player_id: int, season: str, rows: list[dict]) -> None:
-    """Compute season aggregates from game log rows and upsert into player_season_stats."""
-    if not rows:
-        return
-    n = len(rows)
-    pts_sum = sum(_int(r.get("PTS"), 0) for r in rows)
-    reb_sum = sum(_int(r.get("REB"), 0) for r in rows)
-    ast_sum = sum(_int(r.get("AST"), 0) for r in rows)
-    stl_sum = sum(_int(r.get("STL"), 0) for r in rows)
-    blk_sum = sum(_int(r.get("BLK"), 0) for r in rows)
-    tov_sum = sum(_int(r.get("TOV"), 0) for r in rows)
-    fgm_sum = sum(_int(r.get("FGM"), 0) for r in rows)
-    fga_sum = sum(_int(r.get("FGA"), 0) for r in rows)
-    fg3m_sum = sum(_int(r.get("FG3M"), 0) for r in rows)
-    fg3a_sum = sum(_int(r.get("FG3A"), 0) for r in rows)
-    ftm_sum = sum(_int(r.get("FTM"), 0) for r in rows)
-    fta_sum = sum(_int(r.get("FTA"), 0) for r in rows)
-    pts_avg = round(pts_sum / n, 2) if n else 0
-    reb_avg = round(reb_sum / n, 2) if n else 0
-    ast_avg = round(ast_sum / n, 2) if n else 0
-    stl_avg = round(stl_sum / n, 2) if n else 0
-    blk_avg = round(blk_sum / n, 2) if n else 0
-    tov_avg = round(tov_sum / n, 2) if n else 0
-    fg_pct = round(fgm_sum / fga_sum, 3) if fga_sum else None
-    fg3_pct = round(fg3m_sum / fg3a_sum, 3) if fg3a_sum else None
-    ft_pct = round(ftm_sum / fta_sum, 3) if fta_sum else None
-    with conn.cursor() as cur:
-        cur.execute(
-            """
-            INSERT INTO player_season_stats (player_id, season, games_played, pts_avg, reb_avg, ast_avg, stl_avg, blk_avg, tov_avg, fg_pct, fg3_pct, ft_pct)
-            VALUES (%s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s, %s)
-            ON CONFLICT (player_id, season) DO UPDATE SET
-                games_played = EXCLUDED.games_played,
-                pts_avg = EXCLUDED.pts_avg,
-                reb_avg = EXCLUDED.reb_avg,
-                ast_avg = EXCLUDED.ast_avg,
-                stl_avg = EXCLUDED.stl_avg,
-                blk_avg = EXCLUDED.blk_avg,
-                tov_avg = EXCLUDED.tov_avg,
-                fg_pct = EXCLUDED.fg_pct,
-                fg3_pct = EXCLUDED.fg3_pct,
-                ft_pct = EXCLUDED.ft_pct,
-                updated_at = NOW()
-            """,
-            (player_id, season, n, pts_avg, reb_avg, ast_avg, stl_avg, blk_avg, tov_avg, fg_pct, fg3_pct, ft_pct),
-        )
-    logger.info("Upserted player_season_stats for player_id=%s season=%s (gp=%s)", player_id, season, n)
-
-
 def _int(v, default=None):
     if v is None or v == "":
         return default
@@ -707,9 +674,8 @@ def main():
                     time.sleep(wait)
             if rows:
                 n = upsert_game_logs(conn, player_id, rows)
+                # player_season_stats is kept current by the player_game_logs_season_stats trigger (schema.sql)
                 logger.info("Upserted %s game log rows for player_id=%s season=%s", n, player_id, args.season)
-                season_used = rows[0].get("SEASON") or args.season
-                upsert_player_season_stats(conn, player_id, season_used, rows)
             else:
                 logger.warning("No game log rows for player_id=%s season=%s", player_id, args.season)
 